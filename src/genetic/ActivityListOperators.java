@@ -0,0 +1,159 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+
+import java.util.Arrays;
+
+/**
+ * Operators of activity lists - orders of placing tasks in the timeline,
+ * in which every task follows its predecessors. All operators keep lists
+ * precedence feasible and do not allocate, but they keep scratch arrays,
+ * so they are not supposed to be shared between threads.
+ */
+class ActivityListOperators {
+
+    private final int[] predecessorOffsets;
+    private final int[] predecessorIndexes;
+    private final int[] successorOffsets;
+    private final int[] successorIndexes;
+
+    //tasks, which predecessors are all listed, and numbers of predecessors not listed yet
+    private final int[] eligibleTasks;
+    private final int[] remainingPredecessors;
+    private final int[] firstChild;
+    private final int[] secondChild;
+    //tasks are marked if their stamp is the current one, so marks do not have to be cleared
+    private final int[] stamps;
+    private int stamp;
+
+    /**
+     * @param instance instance solved by specimens with the activity lists
+     */
+    ActivityListOperators(ProblemInstance instance) {
+        predecessorOffsets = instance.getPredecessorOffsets();
+        predecessorIndexes = instance.getPredecessorIndexes();
+        successorOffsets = instance.getSuccessorOffsets();
+        successorIndexes = instance.getSuccessorIndexes();
+        eligibleTasks = new int[instance.getTaskCount()];
+        remainingPredecessors = new int[instance.getTaskCount()];
+        firstChild = new int[instance.getTaskCount()];
+        secondChild = new int[instance.getTaskCount()];
+        stamps = new int[instance.getTaskCount()];
+    }
+
+    /**
+     * Fills an activity list with a random precedence feasible order, listing
+     * every time a random task among the ones with all predecessors listed.
+     *
+     * @param activityList list to fill
+     * @param random       source of random decisions
+     */
+    void generate(int[] activityList, RandomSource random) {
+        int eligibleCount = 0;
+        for (int taskIndex = 0; taskIndex < activityList.length; taskIndex++) {
+            remainingPredecessors[taskIndex] = predecessorOffsets[taskIndex + 1] - predecessorOffsets[taskIndex];
+            if (remainingPredecessors[taskIndex] == 0) {
+                eligibleTasks[eligibleCount++] = taskIndex;
+            }
+        }
+        for (int position = 0; position < activityList.length; position++) {
+            int eligibleIndex = random.nextInt(eligibleCount);
+            int taskIndex = eligibleTasks[eligibleIndex];
+            eligibleTasks[eligibleIndex] = eligibleTasks[--eligibleCount];
+            activityList[position] = taskIndex;
+            for (int s = successorOffsets[taskIndex]; s < successorOffsets[taskIndex + 1]; s++) {
+                if (--remainingPredecessors[successorIndexes[s]] == 0) {
+                    eligibleTasks[eligibleCount++] = successorIndexes[s];
+                }
+            }
+        }
+    }
+
+    /**
+     * One-point order crossover. A child takes tasks before a cross point
+     * from one parent and the rest of tasks in the order they have in the
+     * other parent, so relative order of any two tasks is inherited from
+     * one of the parents and the child stays precedence feasible. Crossing
+     * a specimen with itself changes nothing, but the cross point is still drawn.
+     * Lists of a single task have no cross point, so they are left unchanged.
+     *
+     * @param parent1 first parent, which activity list is overwritten with the first child
+     * @param parent2 second parent, which activity list is overwritten with the second child
+     * @param random  source of random decisions
+     */
+    void cross(Specimen parent1, Specimen parent2, RandomSource random) {
+        int[] firstList = parent1.getActivityList();
+        int[] secondList = parent2.getActivityList();
+        if (firstList.length < 2) {
+            return;
+        }
+        int crossPoint = random.nextInt(firstList.length - 1) + 1;
+        if (parent1 == parent2) {
+            return;
+        }
+        crossLists(firstList, secondList, crossPoint, firstChild);
+        crossLists(secondList, firstList, crossPoint, secondChild);
+        System.arraycopy(firstChild, 0, firstList, 0, firstList.length);
+        System.arraycopy(secondChild, 0, secondList, 0, secondList.length);
+    }
+
+    private void crossLists(int[] headList, int[] tailList, int crossPoint, int[] child) {
+        nextStamp();
+        for (int position = 0; position < crossPoint; position++) {
+            child[position] = headList[position];
+            stamps[headList[position]] = stamp;
+        }
+        int position = crossPoint;
+        for (int taskIndex : tailList) {
+            if (stamps[taskIndex] != stamp) {
+                child[position++] = taskIndex;
+            }
+        }
+    }
+
+    /**
+     * Shift mutation. Moves the task at given position to a random position
+     * between its last predecessor and its first successor on the list.
+     *
+     * @param activityList list to mutate
+     * @param position     position of the task to move
+     * @param random       source of random decisions
+     */
+    void shift(int[] activityList, int position, RandomSource random) {
+        int taskIndex = activityList[position];
+
+        nextStamp();
+        for (int p = predecessorOffsets[taskIndex]; p < predecessorOffsets[taskIndex + 1]; p++) {
+            stamps[predecessorIndexes[p]] = stamp;
+        }
+        int earliestPosition = position;
+        while (earliestPosition > 0 && stamps[activityList[earliestPosition - 1]] != stamp) {
+            earliestPosition--;
+        }
+
+        nextStamp();
+        for (int s = successorOffsets[taskIndex]; s < successorOffsets[taskIndex + 1]; s++) {
+            stamps[successorIndexes[s]] = stamp;
+        }
+        int latestPosition = position;
+        while (latestPosition < activityList.length - 1 && stamps[activityList[latestPosition + 1]] != stamp) {
+            latestPosition++;
+        }
+
+        int newPosition = earliestPosition + random.nextInt(latestPosition - earliestPosition + 1);
+        if (newPosition < position) {
+            System.arraycopy(activityList, newPosition, activityList, newPosition + 1, position - newPosition);
+        } else {
+            System.arraycopy(activityList, position + 1, activityList, position, newPosition - position);
+        }
+        activityList[newPosition] = taskIndex;
+    }
+
+    private void nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 0;
+        }
+        stamp++;
+    }
+}
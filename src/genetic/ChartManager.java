@@ -11,8 +11,8 @@ public class ChartManager {
 
     public void displayChart(double[] best, double[] avg, double[] worst, String filename, String selectionType) {
 
-        double[] xAxisValues = new double[GeneticAlgorithmManager.GENERATIONS_COUNT];
-        for (int i=0; i<GeneticAlgorithmManager.GENERATIONS_COUNT; i++) {
+        double[] xAxisValues = new double[best.length];
+        for (int i=0; i<best.length; i++) {
             xAxisValues[i] = i + 1;
         }
 
@@ -0,0 +1,81 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+
+/**
+ * Compares crossover operators - how fast they cross two specimens alone
+ * and what the genetic algorithm using them finds. Every operator runs
+ * with the same seeds. Arguments: number of runs per operator (5 by default)
+ * and the definition file.
+ */
+public class CrossoverBenchmark {
+
+    private static final String definitionFileCatalog = "src/ms_rcpsp_lib/assets/def_small/";
+    private static final String definitionFile = "200_20_55_9.def";
+    private static final int CROSSINGS_COUNT = 1000000;
+    private static final int WARM_UP_CROSSINGS_COUNT = 100000;
+
+    public static void main(String[] args) {
+        int runsCount = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String definition = args.length > 1 ? args[1] : definitionFileCatalog + definitionFile;
+        Schedule schedule = new MSRCPSPIO().readDefinition(definition);
+        if (schedule == null) {
+            System.out.println("Could not read the definition " + definition);
+            return;
+        }
+
+        StringBuilder summary = new StringBuilder();
+        for (GeneticAlgorithmManager.CrossoverType crossoverType : GeneticAlgorithmManager.CrossoverType.values()) {
+            double crossingsPerSecond = measureCrossings(schedule, crossoverType);
+            double bestFitnessSum = 0;
+            double bestFitness = Double.MAX_VALUE;
+            long runNanos = 0;
+            for (int seed = 0; seed < runsCount; seed++) {
+                GeneticAlgorithmManager geneticAlgorithmManager = new GeneticAlgorithmManager(schedule, seed);
+                geneticAlgorithmManager.setCrossoverType(crossoverType);
+                geneticAlgorithmManager.setPrintingProgress(false);
+                long start = System.nanoTime();
+                geneticAlgorithmManager.run();
+                runNanos += System.nanoTime() - start;
+                bestFitnessSum += geneticAlgorithmManager.getEverBestFitness();
+                bestFitness = Math.min(bestFitness, geneticAlgorithmManager.getEverBestFitness());
+            }
+            summary.append(crossoverType).append(" - crossings per second: ").append((long) crossingsPerSecond)
+                    .append(", best: ").append(bestFitness)
+                    .append(", average best: ").append(bestFitnessSum / runsCount)
+                    .append(", average run: ").append(runNanos / runsCount / 1000000).append(" ms\n");
+        }
+        System.out.print(summary);
+    }
+
+    private static double measureCrossings(Schedule schedule, GeneticAlgorithmManager.CrossoverType crossoverType) {
+        GeneticAlgorithmManager geneticAlgorithmManager = new GeneticAlgorithmManager(schedule, 1, new SplitMixRandomSource(0));
+        geneticAlgorithmManager.setCrossoverType(crossoverType);
+        CrossoverOperator crossoverOperator = geneticAlgorithmManager.getCrossoverOperator();
+        RandomSource random = new SplitMixRandomSource(0);
+        ProblemInstance instance = schedule.getInstance();
+        Specimen parent1 = createRandomSpecimen(instance, random);
+        Specimen parent2 = createRandomSpecimen(instance, random);
+
+        for (int i = 0; i < WARM_UP_CROSSINGS_COUNT; i++) {
+            crossoverOperator.cross(parent1, parent2, random);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < CROSSINGS_COUNT; i++) {
+            crossoverOperator.cross(parent1, parent2, random);
+        }
+        return CROSSINGS_COUNT * 1e9 / (System.nanoTime() - start);
+    }
+
+    private static Specimen createRandomSpecimen(ProblemInstance instance, RandomSource random) {
+        SolutionState state = new SolutionState(instance);
+        for (int i = 0; i < instance.getTaskCount(); i++) {
+            int[] capableResources = instance.getCapableResources(i);
+            state.assign(i, capableResources[random.nextInt(capableResources.length)]);
+        }
+        return new Specimen(state);
+    }
+}
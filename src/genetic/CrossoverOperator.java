@@ -0,0 +1,21 @@
+package genetic;
+
+/**
+ * Recombines genes of two specimens in place, turning the parents into
+ * children. Genes are exchanged only between the same tasks, so children
+ * assign every task a resource capable of doing it, as their parents do.
+ * Operators do not allocate, but may keep scratch arrays, so an operator
+ * is not supposed to be shared between threads.
+ */
+interface CrossoverOperator {
+
+    /**
+     * Crossing a specimen with itself changes nothing, but draws
+     * the same random decisions as crossing two specimens.
+     *
+     * @param parent1 first parent, overwritten with the first child
+     * @param parent2 second parent, overwritten with the second child
+     * @param random  source of random decisions
+     */
+    void cross(Specimen parent1, Specimen parent2, RandomSource random);
+}
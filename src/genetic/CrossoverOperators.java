@@ -0,0 +1,202 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+
+import java.util.Arrays;
+
+/**
+ * Factory of <code>CrossoverOperator</code>s working on genes of specimens,
+ * which are resources assigned to tasks, indexed by the task.
+ */
+final class CrossoverOperators {
+
+    private CrossoverOperators() {
+    }
+
+    /**
+     * Exchanges genes after a cross point drawn between the first and the last gene.
+     * Genomes of a single gene have no cross point, so they are left unchanged.
+     */
+    static CrossoverOperator onePoint() {
+        return new CrossoverOperator() {
+            @Override
+            public void cross(Specimen parent1, Specimen parent2, RandomSource random) {
+                int genesCount = parent1.getGenes().length;
+                if (genesCount < 2) {
+                    return;
+                }
+                int crossPoint = random.nextInt(genesCount - 1) + 1;
+                if (parent1 == parent2) {
+                    return;
+                }
+                for (int i = crossPoint; i < genesCount; i++) {
+                    swapGenes(parent1, parent2, i);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "one-point";
+            }
+        };
+    }
+
+    /**
+     * Exchanges genes between two distinct cross points. Genomes of fewer
+     * than three genes have no two distinct cross points, so they are left unchanged.
+     */
+    static CrossoverOperator twoPoint() {
+        return new CrossoverOperator() {
+            @Override
+            public void cross(Specimen parent1, Specimen parent2, RandomSource random) {
+                int genesCount = parent1.getGenes().length;
+                if (genesCount < 3) {
+                    return;
+                }
+                int firstCrossPoint = random.nextInt(genesCount - 1) + 1;
+                int secondCrossPoint = random.nextInt(genesCount - 2) + 1;
+                // skips the first point, so points are distinct and the second one is uniform among the rest
+                if (secondCrossPoint >= firstCrossPoint) {
+                    secondCrossPoint++;
+                }
+                if (parent1 == parent2) {
+                    return;
+                }
+                int from = Math.min(firstCrossPoint, secondCrossPoint);
+                int to = Math.max(firstCrossPoint, secondCrossPoint);
+                for (int i = from; i < to; i++) {
+                    swapGenes(parent1, parent2, i);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "two-point";
+            }
+        };
+    }
+
+    /**
+     * Exchanges every gene with probability of one half. Decisions
+     * for 64 genes are drawn at once, as bits of a random long.
+     */
+    static CrossoverOperator uniform() {
+        return new CrossoverOperator() {
+            @Override
+            public void cross(Specimen parent1, Specimen parent2, RandomSource random) {
+                int genesCount = parent1.getGenes().length;
+                for (int from = 0; from < genesCount; from += Long.SIZE) {
+                    long exchanged = random.nextLong();
+                    if (parent1 == parent2) {
+                        continue;
+                    }
+                    int to = Math.min(from + Long.SIZE, genesCount);
+                    for (int i = from; i < to; i++) {
+                        if ((exchanged & 1L << (i - from)) != 0) {
+                            swapGenes(parent1, parent2, i);
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "uniform";
+            }
+        };
+    }
+
+    /**
+     * Exchanges genes of a block of tasks connected by precedence constraints,
+     * grown breadth first from a random task, regardless of direction of the
+     * constraints, to a random size. Tasks, which depend on each other, keep
+     * resources of the same parent, so a child inherits parts of schedules
+     * rather than scattered assignments. A block stops growing early, when
+     * there are no more tasks connected to it. A block is smaller than the
+     * whole genome, so genomes of a single gene are left unchanged.
+     *
+     * @param instance instance solved by crossed specimens
+     */
+    static CrossoverOperator precedenceBlock(ProblemInstance instance) {
+        return new PrecedenceBlockCrossover(instance);
+    }
+
+    private static final class PrecedenceBlockCrossover implements CrossoverOperator {
+
+        private final int[] predecessorOffsets;
+        private final int[] predecessorIndexes;
+        private final int[] successorOffsets;
+        private final int[] successorIndexes;
+        //tasks of the block, in order of visiting
+        private final int[] block;
+        //tasks are in the current block if their stamp is the current one, so they do not have to be cleared
+        private final int[] blockStamps;
+        private int blockStamp;
+
+        private PrecedenceBlockCrossover(ProblemInstance instance) {
+            predecessorOffsets = instance.getPredecessorOffsets();
+            predecessorIndexes = instance.getPredecessorIndexes();
+            successorOffsets = instance.getSuccessorOffsets();
+            successorIndexes = instance.getSuccessorIndexes();
+            block = new int[instance.getTaskCount()];
+            blockStamps = new int[instance.getTaskCount()];
+        }
+
+        @Override
+        public void cross(Specimen parent1, Specimen parent2, RandomSource random) {
+            int genesCount = block.length;
+            if (genesCount < 2) {
+                return;
+            }
+            int blockSize = random.nextInt(genesCount - 1) + 1;
+            int firstTask = random.nextInt(genesCount);
+            if (parent1 == parent2) {
+                return;
+            }
+
+            if (blockStamp == Integer.MAX_VALUE) {
+                Arrays.fill(blockStamps, 0);
+                blockStamp = 0;
+            }
+            blockStamp++;
+            int size = 0;
+            block[size++] = firstTask;
+            blockStamps[firstTask] = blockStamp;
+            for (int visited = 0; visited < size && size < blockSize; visited++) {
+                int task = block[visited];
+                size = addToBlock(predecessorIndexes, predecessorOffsets[task], predecessorOffsets[task + 1], size, blockSize);
+                size = addToBlock(successorIndexes, successorOffsets[task], successorOffsets[task + 1], size, blockSize);
+            }
+
+            for (int i = 0; i < size; i++) {
+                swapGenes(parent1, parent2, block[i]);
+            }
+        }
+
+        private int addToBlock(int[] neighbours, int from, int to, int size, int blockSize) {
+            for (int i = from; i < to && size < blockSize; i++) {
+                int neighbour = neighbours[i];
+                if (blockStamps[neighbour] != blockStamp) {
+                    blockStamps[neighbour] = blockStamp;
+                    block[size++] = neighbour;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "precedence block";
+        }
+    }
+
+    private static void swapGenes(Specimen specimen1, Specimen specimen2, int taskIndex) {
+        int[] genes1 = specimen1.getGenes();
+        int[] genes2 = specimen2.getGenes();
+        int gene1 = genes1[taskIndex];
+        if (gene1 != genes2[taskIndex]) {
+            specimen1.setGene(taskIndex, genes2[taskIndex]);
+            specimen2.setGene(taskIndex, gene1);
+        }
+    }
+}
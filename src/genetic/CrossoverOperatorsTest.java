@@ -0,0 +1,65 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Resource;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Skill;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CrossoverOperatorsTest {
+
+  @Test
+  public void testShortGenomes() {
+    RandomSource random = new SplitMixRandomSource(3);
+    for (int tasksCount = 1; tasksCount <= 3; tasksCount++) {
+      ProblemInstance instance = createInstance(tasksCount);
+      CrossoverOperator[] operators = {CrossoverOperators.onePoint(), CrossoverOperators.twoPoint(),
+          CrossoverOperators.uniform(), CrossoverOperators.precedenceBlock(instance)};
+      for (CrossoverOperator operator : operators) {
+        for (int i = 0; i < 100; i++) {
+          Specimen parent1 = createSpecimen(instance, 0);
+          Specimen parent2 = createSpecimen(instance, 1);
+          operator.cross(parent1, parent2, random);
+          for (int t = 0; t < tasksCount; t++) {
+            assertEquals("Genes of " + operator + " should be exchanged, not lost",
+                1, parent1.getGenes()[t] + parent2.getGenes()[t]);
+          }
+        }
+      }
+
+      ActivityListOperators activityListOperators = new ActivityListOperators(instance);
+      Specimen parent1 = createSpecimen(instance, 0);
+      Specimen parent2 = createSpecimen(instance, 1);
+      activityListOperators.cross(parent1, parent2, random);
+      assertTrue("Activity list should stay feasible", instance.isPrecedenceFeasible(parent1.getActivityList()));
+      assertTrue("Activity list should stay feasible", instance.isPrecedenceFeasible(parent2.getActivityList()));
+    }
+  }
+
+  private static ProblemInstance createInstance(int tasksCount) {
+    Task[] tasks = new Task[tasksCount];
+    for (int i = 0; i < tasksCount; i++) {
+      tasks[i] = new Task(i + 1, new Skill("Coding", 0, 1), 10, i == 0 ? new int[0] : new int[]{i});
+    }
+    Resource[] resources = {
+        new Resource(1, 10, new Skill[]{new Skill("Coding", 0, 1)}),
+        new Resource(2, 20, new Skill[]{new Skill("Coding", 0, 1)})
+    };
+    return new Schedule(tasks, resources).getInstance();
+  }
+
+  private static Specimen createSpecimen(ProblemInstance instance, int resourceIndex) {
+    SolutionState state = new SolutionState(instance);
+    int[] activityList = new int[instance.getTaskCount()];
+    for (int t = 0; t < instance.getTaskCount(); t++) {
+      state.assign(t, resourceIndex);
+      activityList[t] = t;
+    }
+    return new Specimen(state, activityList);
+  }
+
+}
@@ -0,0 +1,151 @@
+package genetic;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of fitness values keyed by a 64-bit hash of the genes.
+ * Stores a copy of the genes along with the fitness, so a hit is reported
+ * only if the whole genome matches. Genomes with an activity list are
+ * keyed by both the genes and the list. The cache is direct mapped - every
+ * hash has a single slot, and storing a genome evicts the one occupying
+ * its slot, so the cache never holds more than its capacity.
+ * <p>
+ * Safe to use by many evaluation threads at once, every slot is guarded
+ * by its own lock.
+ */
+class FitnessCache {
+
+    private final Entry[] entries;
+    private final int mask;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of genomes kept, rounded up to a power of two
+     */
+    FitnessCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity of the cache has to be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        entries = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new Entry();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Computes 64-bit hash of the genes and the activity list.
+     *
+     * @param genes        genes to hash
+     * @param activityList order of tasks to hash, null if there is none
+     * @return hash of the genome
+     */
+    static long hash(int[] genes, int[] activityList) {
+        long hash = genes.length;
+        for (int gene : genes) {
+            hash = mix(hash + gene + 0x9E3779B97F4A7C15L);
+        }
+        if (activityList != null) {
+            for (int taskIndex : activityList) {
+                hash = mix(hash + taskIndex + 0x9E3779B97F4A7C15L);
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Looks up fitness of the genes with an activity list and counts a hit or a miss.
+     *
+     * @param hash         hash of the genome, see <code>hash(int[], int[])</code>
+     * @param genes        genes to look up
+     * @param activityList order of tasks to look up, null if there is none
+     * @return fitness of the genome or <code>Double.NaN</code> if it is not cached
+     */
+    double get(long hash, int[] genes, int[] activityList) {
+        Entry entry = entries[(int) hash & mask];
+        synchronized (entry) {
+            if (entry.genes != null && entry.hash == hash && Arrays.equals(entry.genes, genes)
+                    && Arrays.equals(entry.activityList, activityList)) {
+                hits.incrementAndGet();
+                return entry.fitness;
+            }
+        }
+        misses.incrementAndGet();
+        return Double.NaN;
+    }
+
+    /**
+     * Stores copies of the genes and the activity list along with their
+     * fitness, evicting any other genome with the same slot.
+     *
+     * @param hash         hash of the genome, see <code>hash(int[], int[])</code>
+     * @param genes        genes to store
+     * @param activityList order of tasks to store, null if there is none
+     * @param fitness      fitness of the genome
+     */
+    void put(long hash, int[] genes, int[] activityList, double fitness) {
+        Entry entry = entries[(int) hash & mask];
+        synchronized (entry) {
+            if (entry.genes != null && (entry.hash != hash || !Arrays.equals(entry.genes, genes)
+                    || !Arrays.equals(entry.activityList, activityList))) {
+                evictions.incrementAndGet();
+            }
+            if (entry.genes == null || entry.genes.length != genes.length) {
+                entry.genes = new int[genes.length];
+            }
+            System.arraycopy(genes, 0, entry.genes, 0, genes.length);
+            if (activityList == null) {
+                entry.activityList = null;
+            } else {
+                if (entry.activityList == null || entry.activityList.length != activityList.length) {
+                    entry.activityList = new int[activityList.length];
+                }
+                System.arraycopy(activityList, 0, entry.activityList, 0, activityList.length);
+            }
+            entry.hash = hash;
+            entry.fitness = fitness;
+        }
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return fraction of lookups, which were hits, 0 if there were none
+     */
+    double getHitRate() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        return lookups == 0 ? 0 : hitCount / (double) lookups;
+    }
+
+    private static class Entry {
+        private long hash;
+        private int[] genes;
+        private int[] activityList;
+        private double fitness;
+    }
+}
@@ -0,0 +1,80 @@
+package genetic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FitnessCacheTest {
+
+  @Test
+  public void testHitsAndMisses() {
+    FitnessCache cache = new FitnessCache(8);
+    int[] genes = {1, 2, 3};
+    long hash = FitnessCache.hash(genes, null);
+    assertTrue("Empty cache should miss", Double.isNaN(cache.get(hash, genes, null)));
+
+    cache.put(hash, genes, null, 42);
+    genes[0] = 7;
+    assertTrue("Cache should keep a copy of the genes", Double.isNaN(cache.get(hash, genes, null)));
+    genes[0] = 1;
+    assertEquals("Stored genes should hit", 42, cache.get(hash, genes.clone(), null), 0);
+
+    assertEquals("Wrong number of hits", 1, cache.getHits());
+    assertEquals("Wrong number of misses", 2, cache.getMisses());
+    assertEquals("Wrong number of evictions", 0, cache.getEvictions());
+    assertEquals("Wrong hit rate", 1 / 3.0, cache.getHitRate(), 1e-12);
+  }
+
+  @Test
+  public void testCollisionMisses() {
+    FitnessCache cache = new FitnessCache(4);
+    int[] genes = {1, 2, 3};
+    int[] other = {3, 2, 1};
+    // the same hash, as if two genomes collided, has to be told apart by the genes
+    cache.put(5, genes, null, 10);
+    assertTrue("Different genes with the same hash should miss", Double.isNaN(cache.get(5, other, null)));
+    assertTrue("Genes of another length should miss", Double.isNaN(cache.get(5, new int[]{1, 2}, null)));
+    // a different hash of the same slot
+    assertTrue("Different hash should miss", Double.isNaN(cache.get(1, genes, null)));
+
+    int[] activityList = {0, 1, 2};
+    cache.put(9, genes, activityList, 20);
+    assertTrue("Genome without the activity list should miss", Double.isNaN(cache.get(9, genes, null)));
+    assertTrue("Different activity list should miss", Double.isNaN(cache.get(9, genes, new int[]{0, 2, 1})));
+    assertEquals("Genome with the activity list should hit", 20, cache.get(9, genes, activityList.clone()), 0);
+
+    assertEquals("Wrong number of hits", 1, cache.getHits());
+    assertEquals("Wrong number of misses", 5, cache.getMisses());
+  }
+
+  @Test
+  public void testEviction() {
+    FitnessCache cache = new FitnessCache(3);
+    int[] genes = {1, 2, 3};
+    int[] other = {4, 5};
+    // capacity is rounded up to 4, so hashes 2 and 6 share a slot
+    cache.put(2, genes, null, 10);
+    cache.put(2, genes, null, 10);
+    assertEquals("Storing the same genome again is not an eviction", 0, cache.getEvictions());
+
+    cache.put(6, other, null, 20);
+    assertEquals("Wrong number of evictions", 1, cache.getEvictions());
+    assertTrue("Evicted genome should miss", Double.isNaN(cache.get(2, genes, null)));
+    assertEquals("New genome should hit", 20, cache.get(6, other, null), 0);
+
+    cache.put(6, other, new int[]{1, 0}, 30);
+    assertEquals("Wrong number of evictions", 2, cache.getEvictions());
+    assertTrue("Evicted genome should miss", Double.isNaN(cache.get(6, other, null)));
+
+    cache.put(3, genes, null, 40);
+    assertEquals("Storing in another slot is not an eviction", 2, cache.getEvictions());
+    assertEquals("Genome in another slot should hit", 40, cache.get(3, genes, null), 0);
+    assertEquals("Genome in another slot should stay", 30, cache.get(6, other, new int[]{1, 0}), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoCapacity() {
+    new FitnessCache(0);
+  }
+
+}
@@ -1,31 +1,122 @@
 package genetic;
 
-import javafx.util.Pair;
-import ms_rcpsp_lib.src.msrcpsp.evaluation.BaseEvaluator;
-import ms_rcpsp_lib.src.msrcpsp.evaluation.DurationEvaluator;
-import ms_rcpsp_lib.src.msrcpsp.scheduling.Resource;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.BatchEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.SolutionEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.greedy.Greedy;
 
-import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created by r.makowiecki on 15/03/2017.
  */
 class GeneticAlgorithmManager {
 
-    private static final int POPULATION_SIZE = 200;
+    enum EngineMode {
+        /**
+         * Whole population is replaced by the next generation at once.
+         */
+        GENERATIONAL,
+        /**
+         * Offspring are bred and evaluated a pair at a time, each one replacing
+         * a specimen chosen by a tournament among the worst ones, if not worse
+         * than it. Statistics are recorded every <code>populationSize</code> evaluations.
+         */
+        STEADY_STATE,
+        /**
+         * Like <code>STEADY_STATE</code>, but offspring are evaluated by a pool
+         * of workers, fed through a bounded queue, while the calling thread
+         * keeps breeding. Evaluated offspring join the population as soon as
+         * they are done, so results depend on timing of the threads.
+         */
+        ASYNCHRONOUS
+    }
+
+    enum CrossoverType {
+        /**
+         * Genes after a single cross point are exchanged.
+         */
+        ONE_POINT,
+        /**
+         * Genes between two cross points are exchanged.
+         */
+        TWO_POINT,
+        /**
+         * Every gene is exchanged with probability of one half.
+         */
+        UNIFORM,
+        /**
+         * Genes of a random block of tasks connected by precedence constraints are exchanged.
+         */
+        PRECEDENCE_BLOCK
+    }
+
+    enum Representation {
+        /**
+         * Genes are resources assigned to tasks, which are placed in the topological order of the instance.
+         */
+        ASSIGNMENTS,
+        /**
+         * Genes are resources assigned to tasks along with an activity list - order of placing
+         * the tasks, recombined by order crossover and mutated by shifting tasks.
+         */
+        ACTIVITY_LIST
+    }
+
+    static final int POPULATION_SIZE = 200;
     static final int GENERATIONS_COUNT = 500;
     private static final float CROSSOVER_PROBABILITY = .2f;
     private static final float MUTATION_PROBABILITY = .0085f;
+    private static final double LOG_MUTATION_COMPLEMENT = Math.log(1 - Math.abs(MUTATION_PROBABILITY));
     private static final int TOURNAMENT_SIZE = 10;
+    private static final int ELITES_COUNT = 2;
+    private static final int REPLACEMENT_POOL_SIZE = 10;
+    private static final int REPLACEMENT_TOURNAMENT_SIZE = 3;
+    private static final int OFFSPRING_QUEUE_CAPACITY = 16;
+    private static final int EVALUATION_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int FITNESS_CACHE_CAPACITY = 4096;
 
-    private static SecureRandom random = new SecureRandom();
-    private Schedule[] population;
-    private Schedule[] nextGenPopulation;
+    private final int populationSize;
+    //all random decisions of a run are drawn from here, on the thread driving the population
+    private final RandomSource random;
+    private boolean printingProgress = true;
+    private EngineMode engineMode = EngineMode.GENERATIONAL;
+    private CrossoverOperator crossoverOperator = CrossoverOperators.onePoint();
+    private boolean batchEvaluation = true;
+    //operators of activity lists, null if specimens do not have them
+    private ActivityListOperators activityListOperators;
+    //each gene is an index of the resource, in the case description, assigned to the respective task
+    //both buffers are allocated once and swapped after every selection
+    private Specimen[] population;
+    private Specimen[] nextGenPopulation;
+    private int[] selectedParentIndexes;
+    //best specimens are moved to the first slots of the next generation as they are, along with their fitness
+    private int elitesCount = ELITES_COUNT;
+    private int[] eliteIndexes;
+    private int carriedOverCount;
+    //steady state engine breeds offspring outside of the population and replaces specimens chosen among the worst ones
+    private Specimen[] offspring;
+    private Specimen[] breedingPair;
+    private int[] replacementCandidates;
+    //first failure of an asynchronous offspring evaluation
+    private volatile RuntimeException offspringEvaluationFailure;
+    //offspring of the asynchronous engine with higher makespan cannot join the population
+    private volatile int survivalCutoff = Integer.MAX_VALUE;
 
     //current population fitness
     private double[] populationFitness;
@@ -36,67 +127,438 @@ class GeneticAlgorithmManager {
     private double[] generationWorstFitnesses;
     private double everBestFitness = Double.MAX_VALUE;
     private double everWorstFitness = Double.MIN_VALUE;
+    //copy of the specimen evaluated as everBestFitness
+    private Specimen everBestSpecimen;
     private double averageAverageFitness;
+    private int generationsRun;
+    private long evaluationsCount;
+    private long runStartNanos;
+    private long runNanos;
 
-    //schedule with constraints to generate from
+    //schedule with constraints to generate from, shared read-only by all individuals
     private Schedule caseDescriptionSchedule;
     private Task[] caseDescriptionTasks;
     private int[] caseDescriptionUpperBounds;
+    private ProblemInstance caseDescriptionInstance;
+
+    //termination
+    private List<TerminationCriterion> terminationCriteria = new ArrayList<>();
+    private RunProgress runProgress = new RunProgress();
+    private String terminationReason = "limit of " + GENERATIONS_COUNT + " generations";
+    private double improvedEverBestFitness = Double.MAX_VALUE;
+    private int lastImprovementGeneration;
+
+    //evaluation workers, each one owns its decoder and evaluator
+    private List<EvaluationWorker> evaluationWorkers;
+    private ExecutorService evaluationExecutor;
+    //fitness of recently evaluated genomes, shared by the workers
+    private FitnessCache fitnessCache;
+    //offspring, which decoding was given up once their makespan exceeded the survival cutoff
+    private final AtomicLong boundedEvaluationsCount = new AtomicLong();
+
+    GeneticAlgorithmManager(Schedule caseDescriptionSchedule, long seed) {
+        this(caseDescriptionSchedule, EVALUATION_THREADS, new SplitMixRandomSource(seed));
+    }
+
+    /**
+     * @param caseDescriptionSchedule schedule with constraints to generate from
+     * @param evaluationThreads       number of threads evaluating the population,
+     *                                1 evaluates it sequentially on the calling thread
+     * @param random                  source of random decisions, the run is reproducible
+     *                                from its seed regardless of <code>evaluationThreads</code>
+     */
+    GeneticAlgorithmManager(Schedule caseDescriptionSchedule, int evaluationThreads, RandomSource random) {
+        this(caseDescriptionSchedule, POPULATION_SIZE, evaluationThreads, random);
+    }
 
-    GeneticAlgorithmManager(Schedule caseDescriptionSchedule) {
+    /**
+     * @param caseDescriptionSchedule schedule with constraints to generate from
+     * @param populationSize          number of specimens in the population
+     * @param evaluationThreads       number of threads evaluating the population,
+     *                                1 evaluates it sequentially on the calling thread
+     * @param random                  source of random decisions, the run is reproducible
+     *                                from its seed regardless of <code>evaluationThreads</code>
+     */
+    GeneticAlgorithmManager(Schedule caseDescriptionSchedule, int populationSize, int evaluationThreads, RandomSource random) {
+        if (evaluationThreads < 1) {
+            throw new IllegalArgumentException("At least one evaluation thread is required");
+        }
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population has to consist of at least two specimens");
+        }
+        this.populationSize = populationSize;
+        this.random = random;
         this.caseDescriptionSchedule = caseDescriptionSchedule;
         caseDescriptionTasks = caseDescriptionSchedule.getTasks().clone();
         caseDescriptionUpperBounds = caseDescriptionSchedule.getUpperBounds(caseDescriptionSchedule.getTasks().length);
+        caseDescriptionInstance = caseDescriptionSchedule.getInstance();
 
-        populationFitness = new double[POPULATION_SIZE];
+        populationFitness = new double[populationSize];
         generationBestFitnesses = new double[GENERATIONS_COUNT];
         generationAverageFitnesses = new double[GENERATIONS_COUNT];
         generationWorstFitnesses = new double[GENERATIONS_COUNT];
 
-        population = new Schedule[POPULATION_SIZE];
-        nextGenPopulation = new Schedule[POPULATION_SIZE];
+        allocateSpecimens();
+        selectedParentIndexes = new int[populationSize];
+        elitesCount = Math.min(ELITES_COUNT, populationSize - 1);
+        eliteIndexes = new int[populationSize];
+        breedingPair = new Specimen[2];
+        replacementCandidates = new int[REPLACEMENT_POOL_SIZE];
+        fitnessCache = new FitnessCache(FITNESS_CACHE_CAPACITY);
+
+        int workersCount = Math.min(evaluationThreads, populationSize);
+        evaluationWorkers = new ArrayList<>(workersCount);
+        for (int i = 0; i < workersCount; i++) {
+            evaluationWorkers.add(new EvaluationWorker(i * populationSize / workersCount, (i + 1) * populationSize / workersCount));
+        }
+    }
+
+    private void allocateSpecimens() {
+        population = new Specimen[populationSize];
+        nextGenPopulation = new Specimen[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = createSpecimen();
+            nextGenPopulation[i] = createSpecimen();
+        }
+        everBestSpecimen = createSpecimen();
+        offspring = new Specimen[]{createSpecimen(), createSpecimen()};
+    }
+
+    private Specimen createSpecimen() {
+        return new Specimen(new SolutionState(caseDescriptionInstance),
+                activityListOperators == null ? null : new int[caseDescriptionTasks.length]);
     }
 
     void run() {
+        if (engineMode == EngineMode.STEADY_STATE) {
+            runSteadyState();
+            return;
+        }
+        if (engineMode == EngineMode.ASYNCHRONOUS) {
+            runAsynchronous();
+            return;
+        }
         int generationNumber = 0;
 
-        initializeValidPopulation();
-        while (generationNumber < GENERATIONS_COUNT) {
-            evaluatePopulationAndCollectStatistics(generationNumber);
-            selectPopulation();
-            crossPopulationOver();
-            mutatePopulation();
+        start();
+        try {
+            while (generationNumber < GENERATIONS_COUNT) {
+                evaluateGeneration(generationNumber);
+                if (shouldTerminate(generationNumber)) {
+                    break;
+                }
+                breedNextGeneration();
+
+                generationNumber++;
+            }
+        } finally {
+            stop();
+        }
+        printStatistics();
+    }
+
+    /**
+     * Runs the steady state engine for as many evaluations as the generational
+     * one makes. Initial population is evaluated as generation 0.
+     */
+    private void runSteadyState() {
+        start();
+        try {
+            evaluateGeneration(0);
+            IndexedFitnessHeap fitnessHeap = new IndexedFitnessHeap(populationFitness);
+            long offspringCount = 0;
+            boolean terminated = shouldTerminate(0);
+            for (int generationNumber = 1; generationNumber < GENERATIONS_COUNT && !terminated; generationNumber++) {
+                while (offspringCount < (long) generationNumber * populationSize) {
+                    offspringCount += breedOffspring(fitnessHeap);
+                }
+                collectSteadyStateStatistics(generationNumber, fitnessHeap);
+                terminated = shouldTerminate(generationNumber);
+            }
+        } finally {
+            stop();
+        }
+        printStatistics();
+    }
+
+    /**
+     * Runs the asynchronous engine for as many evaluations as the generational
+     * one makes. Initial population is evaluated as generation 0. Offspring
+     * are bred in pairs into a fixed pool of specimens, so the number of
+     * offspring on their way through the queue and the workers is bounded.
+     */
+    private void runAsynchronous() {
+        int workersCount = evaluationWorkers.size();
+        BlockingQueue<Specimen> offspringQueue = new ArrayBlockingQueue<>(OFFSPRING_QUEUE_CAPACITY);
+        BlockingQueue<Specimen> evaluatedQueue = new ArrayBlockingQueue<>(OFFSPRING_QUEUE_CAPACITY + 2 * workersCount);
+        Deque<Specimen> freeOffspring = new ArrayDeque<>(OFFSPRING_QUEUE_CAPACITY + 2 * workersCount);
+        for (int i = 0; i < OFFSPRING_QUEUE_CAPACITY + 2 * workersCount; i++) {
+            freeOffspring.push(createSpecimen());
+        }
+        ExecutorService offspringExecutor = Executors.newFixedThreadPool(workersCount);
+        start();
+        try {
+            evaluateGeneration(0);
+            IndexedFitnessHeap fitnessHeap = new IndexedFitnessHeap(populationFitness);
+            survivalCutoff = getSurvivalCutoff(fitnessHeap);
+            for (EvaluationWorker evaluationWorker : evaluationWorkers) {
+                offspringExecutor.execute(new OffspringEvaluator(evaluationWorker, offspringQueue, evaluatedQueue));
+            }
 
-            generationNumber++;
+            long evaluationsBudget = (long) populationSize * (GENERATIONS_COUNT - 1);
+            long bredCount = 0;
+            long joinedCount = 0;
+            int generationNumber = 1;
+            boolean terminated = shouldTerminate(0);
+            while (joinedCount < evaluationsBudget && !terminated) {
+                while (freeOffspring.size() >= 2 && bredCount < evaluationsBudget) {
+                    Specimen child1 = freeOffspring.pop();
+                    Specimen child2 = freeOffspring.pop();
+                    breedPair(child1, child2);
+                    offspringQueue.put(child1);
+                    offspringQueue.put(child2);
+                    bredCount += 2;
+                }
+                Specimen child = evaluatedQueue.take();
+                if (offspringEvaluationFailure != null) {
+                    throw new IllegalStateException("Offspring evaluation failed", offspringEvaluationFailure);
+                }
+                joinPopulation(child, child.getEvalValue(), fitnessHeap);
+                // the worst fitness never grows, so offspring evaluated with an older cutoff are still safe to reject
+                survivalCutoff = getSurvivalCutoff(fitnessHeap);
+                freeOffspring.push(child);
+                joinedCount++;
+                if (joinedCount == (long) generationNumber * populationSize) {
+                    collectSteadyStateStatistics(generationNumber, fitnessHeap);
+                    terminated = shouldTerminate(generationNumber++);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Asynchronous run was interrupted", e);
+        } finally {
+            offspringExecutor.shutdownNow();
+            survivalCutoff = Integer.MAX_VALUE;
+            stop();
         }
         printStatistics();
     }
 
+    /**
+     * Evaluates offspring taken from the queue until interrupted.
+     */
+    private class OffspringEvaluator implements Runnable {
+
+        private final EvaluationWorker evaluationWorker;
+        private final BlockingQueue<Specimen> offspringQueue;
+        private final BlockingQueue<Specimen> evaluatedQueue;
+
+        private OffspringEvaluator(EvaluationWorker evaluationWorker, BlockingQueue<Specimen> offspringQueue,
+                                   BlockingQueue<Specimen> evaluatedQueue) {
+            this.evaluationWorker = evaluationWorker;
+            this.offspringQueue = offspringQueue;
+            this.evaluatedQueue = evaluatedQueue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Specimen child = offspringQueue.take();
+                    try {
+                        child.setEvalValue(evaluationWorker.evaluate(child, survivalCutoff));
+                    } catch (RuntimeException e) {
+                        if (offspringEvaluationFailure == null) {
+                            offspringEvaluationFailure = e;
+                        }
+                    }
+                    // handed back even if failed, so the breeding thread notices the failure
+                    evaluatedQueue.put(child);
+                }
+            } catch (InterruptedException e) {
+                // run is over
+            }
+        }
+    }
+
+    //STEPS, used by run() and by managers driving several populations
+    /**
+     * Starts evaluation threads and initializes the population.
+     * Has to be followed by <code>stop()</code>.
+     */
+    void start() {
+        runStartNanos = System.nanoTime();
+        if (evaluationWorkers.size() > 1) {
+            evaluationExecutor = Executors.newFixedThreadPool(evaluationWorkers.size());
+        }
+        initializeValidPopulation();
+    }
+
+    /**
+     * Evaluates current population and records its statistics.
+     *
+     * @param generationNumber number of the generation, less than <code>GENERATIONS_COUNT</code>
+     */
+    void evaluateGeneration(int generationNumber) {
+        evaluatePopulationAndCollectStatistics(generationNumber);
+    }
+
+    /**
+     * Replaces evaluated population with the next generation.
+     */
+    void breedNextGeneration() {
+        selectPopulation();
+        crossPopulationOver();
+        mutatePopulation();
+    }
+
+    /**
+     * Runs all generations, exchanging specimens with other populations
+     * after evaluating every <code>migrationInterval</code>-th generation
+     * but the last one. Received specimens replace the worst ones.
+     *
+     * @param migrationInterval number of generations between migrations
+     * @param migrantsCount     number of best specimens sent in every migration
+     * @param exchange          sends and receives specimens
+     */
+    void runWithMigrations(int migrationInterval, int migrantsCount, MigrantExchange exchange) {
+        start();
+        try {
+            for (int generationNumber = 0; generationNumber < GENERATIONS_COUNT; generationNumber++) {
+                evaluateGeneration(generationNumber);
+                if ((generationNumber + 1) % migrationInterval == 0 && generationNumber + 1 < GENERATIONS_COUNT) {
+                    int migrationNumber = (generationNumber + 1) / migrationInterval - 1;
+                    replaceWorstSpecimens(exchange.exchange(migrationNumber, copyBestSpecimens(migrantsCount)));
+                }
+                breedNextGeneration();
+            }
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * @param migrationInterval number of generations between migrations
+     * @return number of migrations made by <code>runWithMigrations()</code>
+     */
+    static int getMigrationsCount(int migrationInterval) {
+        return (GENERATIONS_COUNT - 1) / migrationInterval;
+    }
+
+    void stop() {
+        runNanos = System.nanoTime() - runStartNanos;
+        if (evaluationExecutor != null) {
+            evaluationExecutor.shutdownNow();
+            evaluationExecutor = null;
+        }
+    }
+
+    /**
+     * Checks termination criteria after statistics of a generation are collected.
+     *
+     * @param generationNumber number of the generation
+     * @return true if a criterion is met, it is reported as the termination reason
+     */
+    private boolean shouldTerminate(int generationNumber) {
+        if (everBestFitness < improvedEverBestFitness) {
+            improvedEverBestFitness = everBestFitness;
+            lastImprovementGeneration = generationNumber;
+        }
+        runProgress.update(generationNumber, evaluationsCount, System.nanoTime() - runStartNanos,
+                generationBestFitnesses[generationNumber], everBestFitness,
+                generationNumber - lastImprovementGeneration, population, populationSize);
+        for (TerminationCriterion criterion : terminationCriteria) {
+            if (criterion.isMet(runProgress)) {
+                terminationReason = criterion.toString();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //MIGRATION
+    /**
+     * Copies best specimens of the evaluated population, best first.
+     *
+     * @param count number of specimens to copy
+     * @return copies of the specimens along with their evaluation
+     */
+    Specimen[] copyBestSpecimens(int count) {
+        int[] indexes = findExtremeSpecimens(count, true);
+        Specimen[] copies = new Specimen[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            copies[i] = new Specimen(population[indexes[i]]);
+        }
+        return copies;
+    }
+
+    /**
+     * Overwrites worst specimens of the evaluated population,
+     * taking over evaluation of the newcomers.
+     *
+     * @param specimens evaluated specimens to take in, at most the population size
+     */
+    void replaceWorstSpecimens(List<Specimen> specimens) {
+        int[] indexes = findExtremeSpecimens(specimens.size(), false);
+        for (int i = 0; i < indexes.length; i++) {
+            population[indexes[i]].copyFrom(specimens.get(i));
+            populationFitness[indexes[i]] = specimens.get(i).getEvalValue();
+        }
+    }
+
+    private int[] findExtremeSpecimens(int count, boolean best) {
+        int[] indexes = new int[Math.min(count, populationSize)];
+        boolean[] taken = new boolean[populationSize];
+        for (int i = 0; i < indexes.length; i++) {
+            int extremeIndex = -1;
+            for (int j = 0; j < populationSize; j++) {
+                if (!taken[j] && (extremeIndex == -1 || (best
+                        ? populationFitness[j] < populationFitness[extremeIndex]
+                        : populationFitness[j] > populationFitness[extremeIndex]))) {
+                    extremeIndex = j;
+                }
+            }
+            taken[extremeIndex] = true;
+            indexes[i] = extremeIndex;
+        }
+        return indexes;
+    }
+
     private void printStatistics() {
-        for (int i = 0; i < GENERATIONS_COUNT; i++) {
+        for (int i = 0; i < generationsRun; i++) {
             averageAverageFitness += generationAverageFitnesses[i];
         }
-        averageAverageFitness /= GENERATIONS_COUNT;
+        averageAverageFitness /= generationsRun;
+        System.out.println("Stopped by " + terminationReason + " after " + generationsRun + " generations");
         System.out.println("Overall - best: " + everBestFitness + ", average: " + averageAverageFitness + ", worst: " + everWorstFitness);
+        System.out.println("Fitness cache - hits: " + fitnessCache.getHits() + ", misses: " + fitnessCache.getMisses()
+                + ", evictions: " + fitnessCache.getEvictions() + ", hit rate: " + fitnessCache.getHitRate());
+        System.out.println("Evaluations: " + evaluationsCount + ", per second: " + getEvaluationsPerSecond()
+                + ", given up at a bound: " + boundedEvaluationsCount.get());
     }
 
     //INITIALIZATION
     private void initializeValidPopulation() {
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            population[i] = generateValidSpecimen();
+        carriedOverCount = 0;
+        for (int i = 0; i < populationSize; i++) {
+            generateValidSpecimen(population[i]);
         }
     }
 
-    private Schedule generateValidSpecimen() {
-        List<Resource> capableResources;
-
-        Schedule resultSchedule = new Schedule(caseDescriptionSchedule);
-
+    private void generateValidSpecimen(Specimen specimen) {
+        SolutionState state = specimen.getState();
+        state.clear(true);
         for (int i = 0; i < caseDescriptionTasks.length; i++) {
-            capableResources = resultSchedule.getCapableResources(caseDescriptionSchedule.getTasks().clone()[i]);
-            resultSchedule.assign(resultSchedule.getTasks().clone()[i], capableResources.get((int) (random.nextDouble() * caseDescriptionUpperBounds[i])));
+            state.assign(i, getRandomCapableResource(i));
         }
-        return resultSchedule;
+        if (specimen.getActivityList() != null) {
+            activityListOperators.generate(specimen.getActivityList(), random);
+        }
+        specimen.setEvalValue(-1);
+    }
+
+    private int getRandomCapableResource(int taskIndex) {
+        return caseDescriptionInstance.getCapableResources(taskIndex)[random.nextInt(caseDescriptionUpperBounds[taskIndex])];
     }
 
     //EVALUATION
@@ -105,9 +567,11 @@ class GeneticAlgorithmManager {
         double worstGenerationFitness = Double.MIN_VALUE;
         double averageGenerationFitness = 0;
 
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            double currentEvaluation = evaluateSchedule(population[i]);
-            populationFitness[i] = currentEvaluation;
+        evaluatePopulation();
+        evaluationsCount += populationSize - carriedOverCount;
+        // statistics are collected in population order, so they do not depend on the number of threads
+        for (int i = 0; i < populationSize; i++) {
+            double currentEvaluation = populationFitness[i];
             averageGenerationFitness += currentEvaluation;
 
             if (currentEvaluation < bestGenerationFitness) {
@@ -118,46 +582,217 @@ class GeneticAlgorithmManager {
             }
             if(currentEvaluation < everBestFitness) {
                 everBestFitness = currentEvaluation;
+                everBestSpecimen.copyFrom(population[i]);
             }
             if(currentEvaluation > everWorstFitness) {
                 everWorstFitness = currentEvaluation;
             }
         }
-        averageGenerationFitness /= POPULATION_SIZE;
+        averageGenerationFitness /= populationSize;
 
-        System.out.println("GEN: " + generationNumber + " -- Best: " + bestGenerationFitness + ", Avg: " + averageGenerationFitness + ", Worst: " + worstGenerationFitness);
+        if (printingProgress) {
+            System.out.println("GEN: " + generationNumber + " -- Best: " + bestGenerationFitness + ", Avg: " + averageGenerationFitness + ", Worst: " + worstGenerationFitness);
+        }
         generationBestFitnesses[generationNumber] = bestGenerationFitness;
         generationAverageFitnesses[generationNumber] = averageGenerationFitness;
         generationWorstFitnesses[generationNumber] = worstGenerationFitness;
+        generationsRun = generationNumber + 1;
     }
 
-    private double evaluateSchedule(Schedule evaluatedSchedule) {
-        Greedy greedy = new Greedy(evaluatedSchedule.getSuccesors());
-        greedy.buildTimestamps(evaluatedSchedule);
-        BaseEvaluator evaluator = new DurationEvaluator(evaluatedSchedule);
-        return evaluator.evaluate();
+    /**
+     * Records statistics of the population in its current state, taking
+     * the best and the worst fitness from the heap.
+     */
+    private void collectSteadyStateStatistics(int generationNumber, IndexedFitnessHeap fitnessHeap) {
+        double bestGenerationFitness = populationFitness[fitnessHeap.getBest()];
+        double worstGenerationFitness = populationFitness[fitnessHeap.getWorst()];
+        double averageGenerationFitness = 0;
+        for (int i = 0; i < populationSize; i++) {
+            averageGenerationFitness += populationFitness[i];
+        }
+        averageGenerationFitness /= populationSize;
+
+        if (printingProgress) {
+            System.out.println("GEN: " + generationNumber + " -- Best: " + bestGenerationFitness + ", Avg: " + averageGenerationFitness + ", Worst: " + worstGenerationFitness);
+        }
+        generationBestFitnesses[generationNumber] = bestGenerationFitness;
+        generationAverageFitnesses[generationNumber] = averageGenerationFitness;
+        generationWorstFitnesses[generationNumber] = worstGenerationFitness;
+        generationsRun = generationNumber + 1;
+    }
+
+    private void evaluatePopulation() {
+        if (evaluationExecutor == null) {
+            evaluationWorkers.get(0).call();
+            return;
+        }
+        try {
+            for (Future<Void> result : evaluationExecutor.invokeAll(evaluationWorkers)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Population evaluation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Population evaluation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Evaluates a contiguous range of the population. Owns its decoder,
+     * so it is reused between individuals and generations. Specimens
+     * keep timestamps of their previous evaluation, so only the part
+     * of the timeline affected by crossover and mutation is rebuilt.
+     * Genomes found in the fitness cache are not decoded at all.
+     * In batch evaluation the remaining genomes of the range are decoded
+     * from scratch, all at once, by a <code>BatchEvaluator</code> instead.
+     */
+    private class EvaluationWorker implements Callable<Void> {
+
+        private final int from;
+        private final int to;
+        private final Greedy greedy;
+        private final SolutionEvaluator evaluator;
+        //allocated on first batch evaluation, positions in the population and hashes of genomes in the batch
+        private BatchEvaluator batchEvaluator;
+        private int[] batchIndexes;
+        private long[] batchHashes;
+
+        private EvaluationWorker(int from, int to) {
+            this.from = from;
+            this.to = to;
+            greedy = new Greedy();
+            evaluator = new SolutionEvaluator(caseDescriptionInstance);
+        }
+
+        @Override
+        public Void call() {
+            if (batchEvaluation && activityListOperators == null) {
+                evaluateInBatch();
+                return null;
+            }
+            for (int i = from; i < to; i++) {
+                if (i < carriedOverCount) {
+                    // elites are not changed since their evaluation
+                    populationFitness[i] = population[i].getEvalValue();
+                    continue;
+                }
+                populationFitness[i] = evaluate(population[i]);
+                population[i].setEvalValue(populationFitness[i]);
+            }
+            return null;
+        }
+
+        /**
+         * Evaluates the range like <code>call()</code> does, but decodes all
+         * genomes missing from the fitness cache in a single batch. Decoded
+         * timestamps are written back, so specimens stay decoded.
+         */
+        private void evaluateInBatch() {
+            if (batchEvaluator == null) {
+                batchEvaluator = new BatchEvaluator(caseDescriptionInstance, to - from);
+                batchIndexes = new int[to - from];
+                batchHashes = new long[to - from];
+            }
+            int batchSize = 0;
+            for (int i = from; i < to; i++) {
+                if (i < carriedOverCount) {
+                    populationFitness[i] = population[i].getEvalValue();
+                    continue;
+                }
+                int[] genes = population[i].getGenes();
+                long hash = FitnessCache.hash(genes, null);
+                double fitness = fitnessCache.get(hash, genes, null);
+                if (Double.isNaN(fitness)) {
+                    batchEvaluator.setResources(batchSize, genes);
+                    batchIndexes[batchSize] = i;
+                    batchHashes[batchSize++] = hash;
+                } else {
+                    populationFitness[i] = fitness;
+                    population[i].setEvalValue(fitness);
+                }
+            }
+            batchEvaluator.evaluate(batchSize);
+            for (int b = 0; b < batchSize; b++) {
+                Specimen specimen = population[batchIndexes[b]];
+                batchEvaluator.copyTimestampsTo(b, specimen.getState());
+                double fitness = batchEvaluator.getDuration(b);
+                fitnessCache.put(batchHashes[b], specimen.getGenes(), null, fitness);
+                populationFitness[batchIndexes[b]] = fitness;
+                specimen.setEvalValue(fitness);
+            }
+        }
+
+        /**
+         * Evaluates a specimen, giving up decoding as soon as its makespan
+         * is known to exceed the cutoff. Bounds are not cached.
+         *
+         * @return makespan of the specimen or its lower bound exceeding the cutoff
+         */
+        private double evaluate(Specimen specimen, int cutoff) {
+            int[] genes = specimen.getGenes();
+            int[] activityList = specimen.getActivityList();
+            long hash = FitnessCache.hash(genes, activityList);
+            double fitness = fitnessCache.get(hash, genes, activityList);
+            if (Double.isNaN(fitness)) {
+                fitness = activityList == null
+                        ? greedy.rebuildTimestampsWithCutoff(specimen.getState(), cutoff)
+                        : greedy.buildTimestampsWithCutoff(specimen.getState(), activityList, cutoff);
+                if (greedy.isLastBuildExact()) {
+                    fitnessCache.put(hash, genes, activityList, fitness);
+                } else {
+                    boundedEvaluationsCount.incrementAndGet();
+                }
+            }
+            return fitness;
+        }
+
+        private double evaluate(Specimen specimen) {
+            int[] genes = specimen.getGenes();
+            int[] activityList = specimen.getActivityList();
+            long hash = FitnessCache.hash(genes, activityList);
+            double fitness = fitnessCache.get(hash, genes, activityList);
+            if (Double.isNaN(fitness)) {
+                SolutionState state = activityList == null
+                        ? greedy.rebuildTimestamps(specimen.getState())
+                        : greedy.buildTimestamps(specimen.getState(), activityList);
+                fitness = evaluator.evaluate(state).getDuration();
+                fitnessCache.put(hash, genes, activityList, fitness);
+            }
+            return fitness;
+        }
     }
 
     //SELECTION
     //ROULETTE
     private void selectPopulation() {
         int[] nextGenerationParentIndexes = selectUsingTournament();
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            nextGenPopulation[i] = new Schedule(population[nextGenerationParentIndexes[i]]);
+        for (int i = elitesCount; i < populationSize; i++) {
+            nextGenPopulation[i].copyFrom(population[nextGenerationParentIndexes[i]]);
+        }
+        // elites are moved without copying, the specimens they take place of become spare
+        findElites();
+        for (int i = 0; i < elitesCount; i++) {
+            Specimen elite = population[eliteIndexes[i]];
+            population[eliteIndexes[i]] = nextGenPopulation[i];
+            nextGenPopulation[i] = elite;
         }
-        population = deepCopyOf(nextGenPopulation);
+        carriedOverCount = elitesCount;
+        Specimen[] previousPopulation = population;
+        population = nextGenPopulation;
+        nextGenPopulation = previousPopulation;
     }
 
     private int[] selectUsingRoulette() {
-        double[] cumulativeFitnesses = new double[POPULATION_SIZE];
+        double[] cumulativeFitnesses = new double[populationSize];
         cumulativeFitnesses[0] = getAdjustedFitness(populationFitness[0]);
-        for (int i = 1; i < POPULATION_SIZE; i++) {
+        for (int i = 1; i < populationSize; i++) {
             double fitness = getAdjustedFitness(populationFitness[i]);
             cumulativeFitnesses[i] = cumulativeFitnesses[i - 1] + fitness;
         }
 
-        int[] selection = new int[POPULATION_SIZE];
-        for (int i = 0; i < POPULATION_SIZE; i++) {
+        int[] selection = new int[populationSize];
+        for (int i = 0; i < populationSize; i++) {
             double randomFitness = random.nextDouble() * cumulativeFitnesses[cumulativeFitnesses.length - 1];
             int index = Arrays.binarySearch(cumulativeFitnesses, randomFitness);
             if (index < 0) {
@@ -172,11 +807,41 @@ class GeneticAlgorithmManager {
         return populationFitness == 0 ? Double.POSITIVE_INFINITY : 1 / populationFitness;
     }
 
+    //ELITISM
+    /**
+     * Finds <code>elitesCount</code> best specimens without allocating,
+     * ordered by fitness and then by index.
+     */
+    private void findElites() {
+        for (int i = 0; i < elitesCount; i++) {
+            int eliteIndex = -1;
+            for (int j = 0; j < populationSize; j++) {
+                if (i > 0 && !isBefore(eliteIndexes[i - 1], j)) {
+                    continue;
+                }
+                if (eliteIndex == -1 || isBefore(j, eliteIndex)) {
+                    eliteIndex = j;
+                }
+            }
+            eliteIndexes[i] = eliteIndex;
+        }
+    }
+
+    private boolean isBefore(int index, int otherIndex) {
+        if (populationFitness[index] != populationFitness[otherIndex]) {
+            return populationFitness[index] < populationFitness[otherIndex];
+        }
+        return index < otherIndex;
+    }
+
     //TOURNAMENT
+    /**
+     * Selects parents of all specimens of the next generation but the elites.
+     */
     private int[] selectUsingTournament() {
-        int[] selection = new int[POPULATION_SIZE];
+        int[] selection = selectedParentIndexes;
 
-        for (int i = 0; i < POPULATION_SIZE; i++) {
+        for (int i = elitesCount; i < populationSize; i++) {
             selection[i] = performTournament();
         }
         return selection;
@@ -186,7 +851,7 @@ class GeneticAlgorithmManager {
         int bestIndex = -1;
         double bestFitness = Double.MAX_VALUE;
         for (int i = 0; i < TOURNAMENT_SIZE; i++) {
-            int randomCandidateIndex = random.nextInt(POPULATION_SIZE);
+            int randomCandidateIndex = random.nextInt(populationSize);
             if (populationFitness[randomCandidateIndex] < bestFitness) {
                 bestIndex = randomCandidateIndex;
                 bestFitness = populationFitness[bestIndex];
@@ -197,83 +862,302 @@ class GeneticAlgorithmManager {
 
     //CROSSING OVER
     private void crossPopulationOver() {
-        for (int i = 0; i < POPULATION_SIZE; i++) {
+        // elites stay as they are
+        for (int i = elitesCount; i < populationSize; i++) {
             if (random.nextDouble() < Math.abs(CROSSOVER_PROBABILITY)) {
-                int crossingPartnerIndex = random.nextInt(POPULATION_SIZE);
-                Pair<Schedule, Schedule> childPair = performCrossover(population[i], population[crossingPartnerIndex]);
-                population[i] = new Schedule(childPair.getKey());
-                population[crossingPartnerIndex] = new Schedule(childPair.getValue());
+                int crossingPartnerIndex = elitesCount + random.nextInt(populationSize - elitesCount);
+                crossOver(population[i], population[crossingPartnerIndex]);
             }
         }
     }
 
-    private static Pair<Schedule, Schedule> performCrossover(Schedule parent1, Schedule parent2) {
-        Schedule child1 = new Schedule(parent1);
-        Schedule child2 = new Schedule(parent2);
-        Task[] child1Tasks = child1.getTasks();
-        Task[] child2Tasks = child2.getTasks();
+    /**
+     * Turns both parents into children in place, recombining
+     * their genes and activity lists, if they have them.
+     */
+    private void crossOver(Specimen parent1, Specimen parent2) {
+        crossoverOperator.cross(parent1, parent2, random);
+        if (activityListOperators != null) {
+            activityListOperators.cross(parent1, parent2, random);
+        }
+    }
+
+    //STEADY STATE BREEDING
+    /**
+     * Breeds a pair of offspring from parents chosen by tournaments,
+     * evaluates them and lets each one replace a specimen chosen among
+     * the worst ones, unless the offspring is worse.
+     *
+     * @return number of evaluated offspring
+     */
+    private int breedOffspring(IndexedFitnessHeap fitnessHeap) {
+        breedPair(offspring[0], offspring[1]);
+
+        EvaluationWorker evaluationWorker = evaluationWorkers.get(0);
+        for (Specimen child : offspring) {
+            double fitness = evaluationWorker.evaluate(child, getSurvivalCutoff(fitnessHeap));
+            child.setEvalValue(fitness);
+            joinPopulation(child, fitness, fitnessHeap);
+        }
+        return offspring.length;
+    }
+
+    /**
+     * Overwrites given specimens with offspring of parents chosen by tournaments.
+     */
+    private void breedPair(Specimen child1, Specimen child2) {
+        child1.copyFrom(population[performTournament()]);
+        child2.copyFrom(population[performTournament()]);
+        if (random.nextDouble() < Math.abs(CROSSOVER_PROBABILITY)) {
+            crossOver(child1, child2);
+        }
+        breedingPair[0] = child1;
+        breedingPair[1] = child2;
+        mutate(breedingPair, 0, breedingPair.length);
+    }
 
-        Task[] parent1Tasks = parent1.getTasks();
-        Task[] parent2Tasks = parent2.getTasks();
+    /**
+     * An offspring worse than the worst specimen cannot replace any specimen,
+     * so its decoding is given up as soon as its makespan exceeds this cutoff.
+     *
+     * @return fitness of the worst specimen
+     */
+    private int getSurvivalCutoff(IndexedFitnessHeap fitnessHeap) {
+        return (int) populationFitness[fitnessHeap.getWorst()];
+    }
 
-        int crossPoint = random.nextInt(parent1.getResources().length - 1) + 1;
+    /**
+     * Records evaluation of the child and lets it replace a specimen
+     * chosen among the worst ones, unless the child is worse. Fitness
+     * of a child, which decoding was given up, is a bound exceeding the
+     * worst fitness, so the child is rejected and only the worst fitness
+     * ever may be recorded lower than the actual one.
+     */
+    private void joinPopulation(Specimen child, double fitness, IndexedFitnessHeap fitnessHeap) {
+        evaluationsCount++;
+        if (fitness < everBestFitness) {
+            everBestFitness = fitness;
+            everBestSpecimen.copyFrom(child);
+        }
+        if (fitness > everWorstFitness) {
+            everWorstFitness = fitness;
+        }
 
-        for (int i = 0; i < parent1Tasks.length; i++) {
-            if (i < crossPoint) {
-                child1Tasks[i] = parent1Tasks[i];
-                child2Tasks[i] = parent2Tasks[i];
-            } else {
-                child1Tasks[i] = parent2Tasks[i];
-                child2Tasks[i] = parent1Tasks[i];
+        int replacedIndex = selectReplacement(fitnessHeap);
+        if (fitness <= populationFitness[replacedIndex]) {
+            population[replacedIndex].copyFrom(child);
+            populationFitness[replacedIndex] = fitness;
+            fitnessHeap.update(replacedIndex);
+        }
+    }
+
+    /**
+     * Draws a tournament among the worst specimens, the worst participant loses.
+     *
+     * @return index of the specimen to replace
+     */
+    private int selectReplacement(IndexedFitnessHeap fitnessHeap) {
+        int candidatesCount = fitnessHeap.getWorst(REPLACEMENT_POOL_SIZE, replacementCandidates);
+        int worstIndex = -1;
+        for (int i = 0; i < REPLACEMENT_TOURNAMENT_SIZE; i++) {
+            int candidateIndex = replacementCandidates[random.nextInt(candidatesCount)];
+            if (worstIndex == -1 || populationFitness[candidateIndex] > populationFitness[worstIndex]) {
+                worstIndex = candidateIndex;
             }
         }
-        Pair<Schedule, Schedule> children = new Pair<>(child1, child2);
-        return children;
+        return worstIndex;
     }
 
     //MUTATION
+    /**
+     * Mutates every gene of the population independently with
+     * <code>MUTATION_PROBABILITY</code>. Instead of drawing a number for
+     * each gene, draws the number of genes skipped before the next mutated
+     * one, which follows the geometric distribution, so the number of
+     * draws is proportional to the number of mutations. Genes of all
+     * specimens are treated as a single sequence.
+     */
     private void mutatePopulation() {
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            mutate(population[i]);
-        }
+        // elites stay as they are
+        mutate(population, elitesCount, populationSize);
     }
 
-    private void mutate(Schedule mutatingSchedule) {
-        for (int i = 0; i < mutatingSchedule.getTasks().length; i++) {
-            if (random.nextDouble() < Math.abs(MUTATION_PROBABILITY)) {
-                List<Resource> capableResources;
-                capableResources = mutatingSchedule.getCapableResources(mutatingSchedule.getTasks()[i]);
-                mutatingSchedule.assign(mutatingSchedule.getTasks()[i], capableResources.get((int) (random.nextDouble() * caseDescriptionUpperBounds[i])));
+    private void mutate(Specimen[] specimens, int from, int to) {
+        int genesCount = caseDescriptionTasks.length;
+        long specimensGenesCount = (long) (to - from) * genesCount;
+        long position = nextMutationGap();
+        while (position < specimensGenesCount) {
+            int geneIndex = (int) (position % genesCount);
+            specimens[from + (int) (position / genesCount)].setGene(geneIndex, getRandomCapableResource(geneIndex));
+            position += 1 + nextMutationGap();
+        }
+        if (activityListOperators != null) {
+            // every task on every activity list is shifted with the same probability
+            position = nextMutationGap();
+            while (position < specimensGenesCount) {
+                int[] activityList = specimens[from + (int) (position / genesCount)].getActivityList();
+                activityListOperators.shift(activityList, (int) (position % genesCount), random);
+                position += 1 + nextMutationGap();
             }
         }
     }
 
-    private Task[] deepCopyOf(Task[] array) {
-        Task[] resultArray = new Task[array.length];
-        for (int i = 0; i < array.length; i++) {
-            Task task = array[i];
-            resultArray[i] = new Task(task.getId(), task.getRequiredSkills(), task.getDuration(), task.getStart(), task.getPredecessors().clone(), task.getResourceId());
+    /**
+     * @return number of genes skipped before the next mutated one
+     */
+    private long nextMutationGap() {
+        // 1 - nextDouble() is in (0, 1], so the logarithm is finite
+        return (long) (Math.log(1 - random.nextDouble()) / LOG_MUTATION_COMPLEMENT);
+    }
+
+    /**
+     * Adds a criterion stopping <code>run()</code> early, checked after every
+     * generation along with the criteria added before. Runs with migrations
+     * always go through all generations.
+     *
+     * @param criterion criterion to add
+     */
+    void addTerminationCriterion(TerminationCriterion criterion) {
+        terminationCriteria.add(criterion);
+    }
+
+    /**
+     * @return description of the criterion, which stopped the run
+     */
+    String getTerminationReason() {
+        return terminationReason;
+    }
+
+    /**
+     * @return number of generations, which statistics were collected
+     */
+    int getGenerationsRun() {
+        return generationsRun;
+    }
+
+    /**
+     * @param engineMode engine used by <code>run()</code>, generational by default
+     */
+    void setEngineMode(EngineMode engineMode) {
+        this.engineMode = engineMode;
+    }
+
+    /**
+     * @param crossoverType operator recombining parents, one-point by default
+     */
+    void setCrossoverType(CrossoverType crossoverType) {
+        switch (crossoverType) {
+            case ONE_POINT:
+                crossoverOperator = CrossoverOperators.onePoint();
+                break;
+            case TWO_POINT:
+                crossoverOperator = CrossoverOperators.twoPoint();
+                break;
+            case UNIFORM:
+                crossoverOperator = CrossoverOperators.uniform();
+                break;
+            case PRECEDENCE_BLOCK:
+                crossoverOperator = CrossoverOperators.precedenceBlock(caseDescriptionInstance);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown crossover type " + crossoverType);
         }
-        return resultArray;
     }
 
-    private Schedule[] deepCopyOf(Schedule[] array) {
-        Schedule[] resultArray = new Schedule[array.length];
-        for (int i = 0; i < array.length; i++) {
-            resultArray[i] = new Schedule(array[i]);
+    /**
+     * Chooses the genome of specimens, replacing the population,
+     * so it has to be called before the run.
+     *
+     * @param representation representation of specimens, assignments only by default
+     */
+    void setRepresentation(Representation representation) {
+        activityListOperators = representation == Representation.ACTIVITY_LIST
+                ? new ActivityListOperators(caseDescriptionInstance)
+                : null;
+        allocateSpecimens();
+    }
+
+    /**
+     * Evaluates generations with <code>BatchEvaluator</code>, decoding all
+     * specimens of a worker's range in lockstep instead of rebuilding
+     * them one by one. Used by the generational engine with assignments
+     * representation only, on by default.
+     *
+     * @param batchEvaluation false to rebuild specimens one by one instead
+     */
+    void setBatchEvaluation(boolean batchEvaluation) {
+        this.batchEvaluation = batchEvaluation;
+    }
+
+    CrossoverOperator getCrossoverOperator() {
+        return crossoverOperator;
+    }
+
+    /**
+     * @param elitesCount number of best specimens carried over to the next generation
+     *                    unchanged, 0 turns elitism off
+     */
+    void setElitesCount(int elitesCount) {
+        if (elitesCount < 0 || elitesCount >= populationSize) {
+            throw new IllegalArgumentException("Number of elites has to be lower than the population size");
         }
-        return resultArray;
+        this.elitesCount = elitesCount;
+    }
+
+    void setPrintingProgress(boolean printingProgress) {
+        this.printingProgress = printingProgress;
+    }
+
+    double getEverBestFitness() {
+        return everBestFitness;
+    }
+
+    double getEverWorstFitness() {
+        return everWorstFitness;
+    }
+
+    /**
+     * @return copy of the best specimen evaluated so far
+     */
+    Specimen getEverBestSpecimen() {
+        return everBestSpecimen;
+    }
+
+    /**
+     * @return number of specimens evaluated, including initial population
+     * and fitness found in the cache
+     */
+    long getEvaluationsCount() {
+        return evaluationsCount;
+    }
+
+    /**
+     * @return evaluations per second of wall-clock time between <code>start()</code> and <code>stop()</code>
+     */
+    double getEvaluationsPerSecond() {
+        return runNanos == 0 ? 0 : evaluationsCount * 1e9 / runNanos;
+    }
+
+    /**
+     * @return number of offspring, which decoding was given up once they could not survive
+     */
+    long getBoundedEvaluationsCount() {
+        return boundedEvaluationsCount.get();
+    }
+
+    FitnessCache getFitnessCache() {
+        return fitnessCache;
     }
 
     double[] getBestSpecimenData() {
-        return generationBestFitnesses;
+        return Arrays.copyOf(generationBestFitnesses, generationsRun);
     }
 
     double[] getAverageSpecimenData() {
-        return generationAverageFitnesses;
+        return Arrays.copyOf(generationAverageFitnesses, generationsRun);
     }
 
     double[] getWorstSpecimenData() {
-        return generationWorstFitnesses;
+        return Arrays.copyOf(generationWorstFitnesses, generationsRun);
     }
 }
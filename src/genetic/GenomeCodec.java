@@ -0,0 +1,127 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary format of evaluated specimens sent between processes.
+ * A specimen is written as its fitness, the number of its genes and the
+ * genes, each one as an unsigned variable length integer, which takes
+ * a single byte for resource indexes below 128. Only genes travel,
+ * so received specimens are decoded from scratch when evaluated again.
+ * Series of statistics are written as their length followed by the values.
+ */
+final class GenomeCodec {
+
+    private GenomeCodec() {
+    }
+
+    static void writeSpecimens(DataOutput out, Specimen[] specimens) throws IOException {
+        out.writeInt(specimens.length);
+        for (Specimen specimen : specimens) {
+            writeSpecimen(out, specimen);
+        }
+    }
+
+    static List<Specimen> readSpecimens(DataInput in, ProblemInstance instance) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Malformed specimens count " + count);
+        }
+        List<Specimen> specimens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            specimens.add(readSpecimen(in, instance));
+        }
+        return specimens;
+    }
+
+    static void writeSpecimen(DataOutput out, Specimen specimen) throws IOException {
+        int[] genes = specimen.getGenes();
+        out.writeDouble(specimen.getEvalValue());
+        writeUnsigned(out, genes.length);
+        for (int gene : genes) {
+            writeUnsigned(out, gene);
+        }
+    }
+
+    /**
+     * Reads a specimen of given instance.
+     *
+     * @param in       input to read from
+     * @param instance instance the specimen solves
+     * @return specimen with the evaluation it was sent with
+     * @throws IOException if reading fails or the genes do not fit the instance
+     */
+    static Specimen readSpecimen(DataInput in, ProblemInstance instance) throws IOException {
+        double fitness = in.readDouble();
+        int genesCount = readUnsigned(in);
+        if (genesCount != instance.getTaskCount()) {
+            throw new IOException("Expected " + instance.getTaskCount() + " genes, got " + genesCount);
+        }
+        SolutionState state = new SolutionState(instance);
+        int[] genes = state.getResources();
+        for (int i = 0; i < genesCount; i++) {
+            genes[i] = readUnsigned(in);
+            if (genes[i] >= instance.getResourceCount()) {
+                throw new IOException("Malformed gene " + genes[i] + " of task " + i);
+            }
+        }
+        state.invalidate();
+        Specimen specimen = new Specimen(state);
+        specimen.setEvalValue(fitness);
+        return specimen;
+    }
+
+    static void writeSeries(DataOutput out, double[] series) throws IOException {
+        writeUnsigned(out, series.length);
+        for (double value : series) {
+            out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Reads a series of statistics.
+     *
+     * @param in             input to read from
+     * @param expectedLength number of values the series has to have
+     * @return values of the series
+     * @throws IOException if reading fails or the series has another length
+     */
+    static double[] readSeries(DataInput in, int expectedLength) throws IOException {
+        int length = readUnsigned(in);
+        if (length != expectedLength) {
+            throw new IOException("Expected series of " + expectedLength + " values, got " + length);
+        }
+        double[] series = new double[length];
+        for (int i = 0; i < length; i++) {
+            series[i] = in.readDouble();
+        }
+        return series;
+    }
+
+    static void writeUnsigned(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readUnsigned(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+}
@@ -0,0 +1,106 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Resource;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Skill;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GenomeCodecTest {
+
+  private static final int TASKS_COUNT = 5;
+  private static final int RESOURCES_COUNT = 300;
+
+  @Test
+  public void testUnsignedRoundTrip() throws IOException {
+    int[] values = {0, 1, 127, 128, 299, 16383, 16384, 1 << 21, 1 << 28, Integer.MAX_VALUE, -1};
+    int[] lengths = {1, 1, 1, 2, 2, 2, 3, 4, 5, 5, 5};
+    for (int i = 0; i < values.length; i++) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      GenomeCodec.writeUnsigned(new DataOutputStream(bytes), values[i]);
+      assertEquals("Wrong length of " + values[i], lengths[i], bytes.size());
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+      assertEquals("Wrong value", values[i], GenomeCodec.readUnsigned(in));
+      assertEquals("Bytes left unread", 0, in.available());
+    }
+  }
+
+  @Test
+  public void testSpecimensRoundTrip() throws IOException {
+    ProblemInstance instance = createInstance();
+    Specimen[] specimens = new Specimen[3];
+    for (int i = 0; i < specimens.length; i++) {
+      SolutionState state = new SolutionState(instance);
+      for (int t = 0; t < TASKS_COUNT; t++) {
+        // resource indexes above 127 take more than a byte
+        state.assign(t, (i * 97 + t * 61) % RESOURCES_COUNT);
+      }
+      specimens[i] = new Specimen(state);
+      specimens[i].setEvalValue(100.5 + i);
+    }
+    specimens[2].getGenes()[0] = RESOURCES_COUNT - 1;
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GenomeCodec.writeSpecimens(new DataOutputStream(bytes), specimens);
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    List<Specimen> read = GenomeCodec.readSpecimens(in, instance);
+    assertEquals("Bytes left unread", 0, in.available());
+    assertEquals("Wrong number of specimens", specimens.length, read.size());
+    for (int i = 0; i < specimens.length; i++) {
+      assertArrayEquals("Wrong genes", specimens[i].getGenes(), read.get(i).getGenes());
+      assertEquals("Wrong fitness", specimens[i].getEvalValue(), read.get(i).getEvalValue(), 0);
+      assertFalse("Received specimen should be decoded again", read.get(i).getState().isDecoded());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testGeneOutOfInstance() throws IOException {
+    ProblemInstance instance = createInstance();
+    Specimen specimen = new Specimen(new SolutionState(instance));
+    specimen.getGenes()[1] = RESOURCES_COUNT;
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GenomeCodec.writeSpecimen(new DataOutputStream(bytes), specimen);
+    GenomeCodec.readSpecimen(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), instance);
+  }
+
+  @Test
+  public void testSeriesRoundTrip() throws IOException {
+    double[] series = {3.5, 2, Double.MAX_VALUE};
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GenomeCodec.writeSeries(new DataOutputStream(bytes), series);
+    GenomeCodec.writeSeries(new DataOutputStream(bytes), new double[]{1});
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    assertArrayEquals("Wrong series", series, GenomeCodec.readSeries(in, series.length), 0);
+    try {
+      GenomeCodec.readSeries(in, series.length);
+      fail("Series of another length should be rejected");
+    } catch (IOException e) {
+      assertTrue("Wrong message", e.getMessage().contains("got 1"));
+    }
+  }
+
+  private static ProblemInstance createInstance() {
+    Task[] tasks = new Task[TASKS_COUNT];
+    for (int i = 0; i < TASKS_COUNT; i++) {
+      tasks[i] = new Task(i + 1, new Skill("Coding", 0, 1), 10, i == 0 ? new int[0] : new int[]{i});
+    }
+    Resource[] resources = new Resource[RESOURCES_COUNT];
+    for (int i = 0; i < RESOURCES_COUNT; i++) {
+      resources[i] = new Resource(i + 1, 10 + i, new Skill[]{new Skill("Coding", 0, 1)});
+    }
+    return new Schedule(tasks, resources).getInstance();
+  }
+
+}
@@ -0,0 +1,183 @@
+package genetic;
+
+/**
+ * Keeps slots of a population ordered by their fitness, so the best and
+ * the worst slot are known at once and changing fitness of a slot costs
+ * O(log n). Consists of a min heap and a max heap of slots, both knowing
+ * the position of every slot, over the fitness array of the population,
+ * which is not copied. Equal fitness is ordered by index of the slot,
+ * so the order does not depend on the history of updates.
+ */
+class IndexedFitnessHeap {
+
+    private final double[] fitness;
+    private final int[] minHeap;
+    private final int[] maxHeap;
+    private final int[] minPositions;
+    private final int[] maxPositions;
+
+    //positions of the max heap still to visit by getWorst()
+    private int[] frontier;
+
+    /**
+     * @param fitness fitness of every slot, changes have to be reported with <code>update()</code>
+     */
+    IndexedFitnessHeap(double[] fitness) {
+        this.fitness = fitness;
+        minHeap = new int[fitness.length];
+        maxHeap = new int[fitness.length];
+        minPositions = new int[fitness.length];
+        maxPositions = new int[fitness.length];
+        rebuild();
+    }
+
+    /**
+     * Orders all slots again, in linear time. Used after fitness
+     * of most of the slots has changed.
+     */
+    void rebuild() {
+        for (int i = 0; i < fitness.length; i++) {
+            minHeap[i] = i;
+            maxHeap[i] = i;
+            minPositions[i] = i;
+            maxPositions[i] = i;
+        }
+        for (int i = fitness.length / 2 - 1; i >= 0; i--) {
+            siftDown(minHeap, minPositions, i, true);
+            siftDown(maxHeap, maxPositions, i, false);
+        }
+    }
+
+    /**
+     * Restores the order after fitness of the slot has changed.
+     *
+     * @param slot slot, which fitness has changed
+     */
+    void update(int slot) {
+        siftDown(minHeap, minPositions, siftUp(minHeap, minPositions, minPositions[slot], true), true);
+        siftDown(maxHeap, maxPositions, siftUp(maxHeap, maxPositions, maxPositions[slot], false), false);
+    }
+
+    /**
+     * @return slot with the lowest fitness
+     */
+    int getBest() {
+        return minHeap[0];
+    }
+
+    /**
+     * @return slot with the highest fitness
+     */
+    int getWorst() {
+        return maxHeap[0];
+    }
+
+    /**
+     * Finds slots with the highest fitness in O(count log count).
+     *
+     * @param count number of slots to find
+     * @param slots array to fill with the slots, worst first
+     * @return number of slots found, lower than <code>count</code> if there are fewer slots
+     */
+    int getWorst(int count, int[] slots) {
+        if (frontier == null || frontier.length < count + 1) {
+            frontier = new int[count + 1];
+        }
+        int found = 0;
+        int frontierSize = 0;
+        if (maxHeap.length > 0) {
+            frontier[frontierSize++] = 0;
+        }
+        while (found < count && frontierSize > 0) {
+            int position = frontier[0];
+            frontier[0] = frontier[--frontierSize];
+            siftDownFrontier(frontierSize);
+            slots[found++] = maxHeap[position];
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < maxHeap.length; child++) {
+                frontier[frontierSize++] = child;
+                siftUpFrontier(frontierSize - 1);
+            }
+        }
+        return found;
+    }
+
+    private boolean isBefore(int slot, int otherSlot, boolean min) {
+        if (fitness[slot] != fitness[otherSlot]) {
+            return min == fitness[slot] < fitness[otherSlot];
+        }
+        return min == slot < otherSlot;
+    }
+
+    private int siftUp(int[] heap, int[] positions, int position, boolean min) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!isBefore(slot, heap[parent], min)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = slot;
+        positions[slot] = position;
+        return position;
+    }
+
+    private void siftDown(int[] heap, int[] positions, int position, boolean min) {
+        int slot = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heap.length) {
+                break;
+            }
+            if (child + 1 < heap.length && isBefore(heap[child + 1], heap[child], min)) {
+                child++;
+            }
+            if (!isBefore(heap[child], slot, min)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = slot;
+        positions[slot] = position;
+    }
+
+    private void siftUpFrontier(int index) {
+        int position = frontier[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isBefore(maxHeap[position], maxHeap[frontier[parent]], false)) {
+                break;
+            }
+            frontier[index] = frontier[parent];
+            index = parent;
+        }
+        frontier[index] = position;
+    }
+
+    private void siftDownFrontier(int frontierSize) {
+        if (frontierSize == 0) {
+            return;
+        }
+        int index = 0;
+        int position = frontier[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= frontierSize) {
+                break;
+            }
+            if (child + 1 < frontierSize && isBefore(maxHeap[frontier[child + 1]], maxHeap[frontier[child]], false)) {
+                child++;
+            }
+            if (!isBefore(maxHeap[frontier[child]], maxHeap[position], false)) {
+                break;
+            }
+            frontier[index] = frontier[child];
+            index = child;
+        }
+        frontier[index] = position;
+    }
+}
@@ -0,0 +1,88 @@
+package genetic;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IndexedFitnessHeapTest {
+
+  @Test
+  public void testMatchesLinearScan() {
+    Random random = new Random(11);
+    for (int size = 1; size <= 40; size += 13) {
+      double[] fitness = new double[size];
+      for (int i = 0; i < size; i++) {
+        // few distinct values, so ties are common
+        fitness[i] = random.nextInt(5);
+      }
+      IndexedFitnessHeap heap = new IndexedFitnessHeap(fitness);
+      int[] slots = new int[size + 3];
+      for (int step = 0; step < 2000; step++) {
+        int slot = random.nextInt(size);
+        fitness[slot] = random.nextInt(5);
+        heap.update(slot);
+
+        assertEquals("Wrong best slot", linearBest(fitness), heap.getBest());
+        assertEquals("Wrong worst slot", linearWorst(fitness, new boolean[size]), heap.getWorst());
+        // more slots than there are in the population
+        int count = random.nextInt(size + 3) + 1;
+        int found = heap.getWorst(count, slots);
+        assertEquals("Wrong number of worst slots", Math.min(count, size), found);
+        boolean[] taken = new boolean[size];
+        for (int i = 0; i < found; i++) {
+          int expected = linearWorst(fitness, taken);
+          assertEquals("Wrong worst slot at " + i, expected, slots[i]);
+          taken[expected] = true;
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTiesOrderedBySlot() {
+    double[] fitness = {3, 1, 3, 1, 2};
+    IndexedFitnessHeap heap = new IndexedFitnessHeap(fitness);
+    assertEquals("Equal best fitness should prefer the lower slot", 1, heap.getBest());
+    assertEquals("Equal worst fitness should prefer the higher slot", 2, heap.getWorst());
+    int[] slots = new int[10];
+    assertEquals("Wrong number of worst slots", 5, heap.getWorst(10, slots));
+    assertArrayEquals("Wrong order of worst slots", new int[]{2, 0, 4, 3, 1}, Arrays.copyOf(slots, 5));
+
+    fitness[0] = 1;
+    heap.update(0);
+    assertEquals("Wrong best slot after update", 0, heap.getBest());
+    fitness[2] = 0;
+    heap.update(2);
+    assertEquals("Wrong best slot after update", 2, heap.getBest());
+    assertEquals("Wrong worst slot after update", 4, heap.getWorst());
+
+    fitness[1] = 5;
+    fitness[3] = 5;
+    heap.rebuild();
+    assertEquals("Wrong worst slot after rebuild", 3, heap.getWorst());
+  }
+
+  private static int linearBest(double[] fitness) {
+    int best = 0;
+    for (int i = 1; i < fitness.length; i++) {
+      if (fitness[i] < fitness[best]) {
+        best = i;
+      }
+    }
+    return best;
+  }
+
+  private static int linearWorst(double[] fitness, boolean[] taken) {
+    int worst = -1;
+    for (int i = 0; i < fitness.length; i++) {
+      if (!taken[i] && (worst == -1 || fitness[i] >= fitness[worst])) {
+        worst = i;
+      }
+    }
+    return worst;
+  }
+
+}
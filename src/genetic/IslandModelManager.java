@@ -0,0 +1,286 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+
+/**
+ * Runs the genetic algorithm on several populations - islands - at once,
+ * each one evolved by its own <code>GeneticAlgorithmManager</code> on its
+ * own thread. Every <code>migrationInterval</code> generations each island
+ * sends copies of its best specimens to another island, chosen by the
+ * topology, where they replace the worst ones.
+ * <p>
+ * Migrants are handed over through lock-free queues, one for every pair
+ * of islands, and islands meet only once per migration. Destinations are
+ * drawn up front, so a run is reproducible from its seed, however the
+ * threads are scheduled.
+ */
+class IslandModelManager {
+
+    enum MigrationTopology {
+        /**
+         * Every island sends migrants to the next one.
+         */
+        RING,
+        /**
+         * Every island sends migrants to another island drawn at random for each migration.
+         */
+        RANDOM
+    }
+
+    private final List<GeneticAlgorithmManager> islands;
+    private final int migrationInterval;
+    private final int migrantsCount;
+    //island receiving migrants of each island, for each migration
+    private final int[][] migrationDestinations;
+    //migrants travelling from an island to another, indexed by destination and then by source
+    private final List<List<Queue<Specimen>>> inboxes;
+    private final Phaser migrationPhaser;
+
+    //global statistics
+    private double[] generationBestFitnesses;
+    private double[] generationAverageFitnesses;
+    private double[] generationWorstFitnesses;
+
+    /**
+     * @param caseDescriptionSchedule schedule with constraints to generate from
+     * @param islandsCount            number of islands, each one evolved on its own thread
+     * @param islandPopulationSize    number of specimens on every island
+     * @param migrationInterval       number of generations between migrations
+     * @param migrantsCount           number of specimens sent by an island in every migration
+     * @param topology                determines where islands send their migrants
+     * @param random                  source of random decisions, split between islands
+     */
+    IslandModelManager(Schedule caseDescriptionSchedule, int islandsCount, int islandPopulationSize,
+                       int migrationInterval, int migrantsCount, MigrationTopology topology, RandomSource random) {
+        if (islandsCount < 1) {
+            throw new IllegalArgumentException("At least one island is required");
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("Migration interval has to be positive");
+        }
+        if (migrantsCount < 0 || migrantsCount > islandPopulationSize) {
+            throw new IllegalArgumentException("Number of migrants has to fit in the population of an island");
+        }
+        this.migrationInterval = migrationInterval;
+        this.migrantsCount = migrantsCount;
+
+        islands = new ArrayList<>(islandsCount);
+        for (int i = 0; i < islandsCount; i++) {
+            GeneticAlgorithmManager island = new GeneticAlgorithmManager(caseDescriptionSchedule, islandPopulationSize, 1, random.split());
+            island.setPrintingProgress(false);
+            islands.add(island);
+        }
+
+        migrationDestinations = drawMigrationDestinations(islandsCount, migrationInterval, topology, random.split());
+
+        inboxes = new ArrayList<>(islandsCount);
+        for (int destination = 0; destination < islandsCount; destination++) {
+            List<Queue<Specimen>> inbox = new ArrayList<>(islandsCount);
+            for (int source = 0; source < islandsCount; source++) {
+                inbox.add(new ConcurrentLinkedQueue<>());
+            }
+            inboxes.add(inbox);
+        }
+        migrationPhaser = new Phaser(islandsCount);
+    }
+
+    /**
+     * Draws island receiving migrants of every island in every migration.
+     *
+     * @return destinations indexed by number of the migration and then by the sending island
+     */
+    static int[][] drawMigrationDestinations(int islandsCount, int migrationInterval,
+                                             MigrationTopology topology, RandomSource random) {
+        int[][] migrationDestinations = new int[GeneticAlgorithmManager.getMigrationsCount(migrationInterval)][islandsCount];
+        for (int[] destinations : migrationDestinations) {
+            for (int source = 0; source < islandsCount; source++) {
+                destinations[source] = drawDestination(source, islandsCount, topology, random);
+            }
+        }
+        return migrationDestinations;
+    }
+
+    private static int drawDestination(int source, int islandsCount, MigrationTopology topology, RandomSource random) {
+        if (islandsCount == 1) {
+            return source;
+        }
+        switch (topology) {
+            case RING:
+                return (source + 1) % islandsCount;
+            case RANDOM:
+                int destination = random.nextInt(islandsCount - 1);
+                return destination < source ? destination : destination + 1;
+            default:
+                throw new IllegalArgumentException("Unknown topology " + topology);
+        }
+    }
+
+    void run() {
+        ExecutorService islandExecutor = Executors.newFixedThreadPool(islands.size());
+        try {
+            List<Future<Void>> results = new ArrayList<>(islands.size());
+            for (int i = 0; i < islands.size(); i++) {
+                results.add(islandExecutor.submit(new IslandRunner(i)));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Island model run was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island model run failed", e.getCause());
+        } finally {
+            islandExecutor.shutdownNow();
+        }
+        collectGlobalStatistics();
+        printStatistics();
+    }
+
+    /**
+     * Evolves a single island, meeting the other ones at every migration.
+     */
+    private class IslandRunner implements Callable<Void>, MigrantExchange {
+
+        private final int index;
+
+        private IslandRunner(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Void call() {
+            try {
+                islands.get(index).runWithMigrations(migrationInterval, migrantsCount, this);
+            } catch (RuntimeException | Error e) {
+                // releases islands waiting for this one to migrate
+                migrationPhaser.forceTermination();
+                throw e;
+            }
+            return null;
+        }
+
+        @Override
+        public List<Specimen> exchange(int migrationNumber, Specimen[] emigrants) {
+            if (islands.size() == 1) {
+                return Collections.emptyList();
+            }
+            int[] destinations = migrationDestinations[migrationNumber];
+            Queue<Specimen> outbox = inboxes.get(destinations[index]).get(index);
+            for (Specimen emigrant : emigrants) {
+                outbox.offer(emigrant);
+            }
+            if (migrationPhaser.arriveAndAwaitAdvance() < 0) {
+                throw new IllegalStateException("Migration was aborted by another island");
+            }
+            // takes exactly the migrants sent this time, senders may have already sent the next ones
+            List<Specimen> immigrants = new ArrayList<>();
+            for (int source = 0; source < islands.size(); source++) {
+                if (destinations[source] == index) {
+                    Queue<Specimen> inbox = inboxes.get(index).get(source);
+                    for (int i = 0; i < migrantsCount; i++) {
+                        immigrants.add(inbox.poll());
+                    }
+                }
+            }
+            return immigrants;
+        }
+    }
+
+    private void collectGlobalStatistics() {
+        double[][] islandsStatistics = new double[3 * islands.size()][];
+        for (int i = 0; i < islands.size(); i++) {
+            islandsStatistics[3 * i] = islands.get(i).getBestSpecimenData();
+            islandsStatistics[3 * i + 1] = islands.get(i).getAverageSpecimenData();
+            islandsStatistics[3 * i + 2] = islands.get(i).getWorstSpecimenData();
+        }
+        double[][] globalStatistics = mergeStatistics(islandsStatistics);
+        generationBestFitnesses = globalStatistics[0];
+        generationAverageFitnesses = globalStatistics[1];
+        generationWorstFitnesses = globalStatistics[2];
+    }
+
+    /**
+     * Merges statistics of islands of equal size, so the global average
+     * is the average of island averages.
+     *
+     * @param islandsStatistics best, average and worst fitness series of every island, one after another
+     * @return global best, average and worst fitness series
+     */
+    static double[][] mergeStatistics(double[][] islandsStatistics) {
+        int islandsCount = islandsStatistics.length / 3;
+        double[][] globalStatistics = new double[3][GeneticAlgorithmManager.GENERATIONS_COUNT];
+        for (int i = 0; i < GeneticAlgorithmManager.GENERATIONS_COUNT; i++) {
+            double best = Double.MAX_VALUE;
+            double worst = Double.MIN_VALUE;
+            double average = 0;
+            for (int island = 0; island < islandsCount; island++) {
+                best = Math.min(best, islandsStatistics[3 * island][i]);
+                average += islandsStatistics[3 * island + 1][i];
+                worst = Math.max(worst, islandsStatistics[3 * island + 2][i]);
+            }
+            globalStatistics[0][i] = best;
+            globalStatistics[1][i] = average / islandsCount;
+            globalStatistics[2][i] = worst;
+        }
+        return globalStatistics;
+    }
+
+    private void printStatistics() {
+        for (int i = 0; i < islands.size(); i++) {
+            GeneticAlgorithmManager island = islands.get(i);
+            printIslandStatistics(i, island.getEverBestFitness(), island.getAverageSpecimenData(),
+                    island.getEverWorstFitness(), island.getFitnessCache().getHitRate());
+        }
+        printGlobalStatistics(generationBestFitnesses, generationAverageFitnesses, generationWorstFitnesses);
+    }
+
+    static void printIslandStatistics(int island, double everBestFitness, double[] averageFitnesses,
+                                      double everWorstFitness, double cacheHitRate) {
+        System.out.println("Island " + island + " - best: " + everBestFitness + ", average: " + average(averageFitnesses)
+                + ", worst: " + everWorstFitness + ", cache hit rate: " + cacheHitRate);
+    }
+
+    static void printGlobalStatistics(double[] bestFitnesses, double[] averageFitnesses, double[] worstFitnesses) {
+        double everBestFitness = Double.MAX_VALUE;
+        double everWorstFitness = Double.MIN_VALUE;
+        for (int i = 0; i < GeneticAlgorithmManager.GENERATIONS_COUNT; i++) {
+            System.out.println("GEN: " + i + " -- Best: " + bestFitnesses[i] + ", Avg: " + averageFitnesses[i] + ", Worst: " + worstFitnesses[i]);
+            everBestFitness = Math.min(everBestFitness, bestFitnesses[i]);
+            everWorstFitness = Math.max(everWorstFitness, worstFitnesses[i]);
+        }
+        System.out.println("Overall - best: " + everBestFitness + ", average: " + average(averageFitnesses) + ", worst: " + everWorstFitness);
+    }
+
+    private static double average(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    double[] getBestSpecimenData() {
+        return generationBestFitnesses;
+    }
+
+    double[] getAverageSpecimenData() {
+        return generationAverageFitnesses;
+    }
+
+    double[] getWorstSpecimenData() {
+        return generationWorstFitnesses;
+    }
+}
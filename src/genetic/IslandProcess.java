@@ -0,0 +1,97 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * Island of <code>MultiProcessIslandManager</code>, run in a separate JVM.
+ * Evolves its population and exchanges migrants with the coordinator
+ * listening on a loopback port, then sends it the statistics and the best
+ * specimen. Started by the coordinator with arguments: port, index of the
+ * island, seed, definition file, population size, migration interval
+ * and number of migrants.
+ */
+class IslandProcess implements MigrantExchange {
+
+    private final ProblemInstance instance;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    private IslandProcess(ProblemInstance instance, Socket socket) throws IOException {
+        this.instance = instance;
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public static void main(String[] args) {
+        try {
+            run(args);
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs an island until it sends its results to the coordinator.
+     *
+     * @param args arguments of the process
+     * @throws IOException if reading the definition or communicating with the coordinator fails
+     */
+    static void run(String[] args) throws IOException {
+        int port = Integer.parseInt(args[0]);
+        int islandIndex = Integer.parseInt(args[1]);
+        long seed = Long.parseLong(args[2]);
+        Schedule schedule = new MSRCPSPIO().readDefinition(args[3]);
+        if (schedule == null) {
+            throw new IOException("Could not read the definition " + args[3]);
+        }
+        int populationSize = Integer.parseInt(args[4]);
+        int migrationInterval = Integer.parseInt(args[5]);
+        int migrantsCount = Integer.parseInt(args[6]);
+
+        GeneticAlgorithmManager island = new GeneticAlgorithmManager(schedule, populationSize, 1, new SplitMixRandomSource(seed));
+        island.setPrintingProgress(false);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            IslandProcess process = new IslandProcess(schedule.getInstance(), socket);
+            process.out.writeInt(islandIndex);
+            process.out.flush();
+            island.runWithMigrations(migrationInterval, migrantsCount, process);
+            process.sendResults(island);
+        }
+    }
+
+    @Override
+    public List<Specimen> exchange(int migrationNumber, Specimen[] emigrants) {
+        try {
+            GenomeCodec.writeSpecimens(out, emigrants);
+            out.flush();
+            return GenomeCodec.readSpecimens(in, instance);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Migration " + migrationNumber + " failed", e);
+        }
+    }
+
+    private void sendResults(GeneticAlgorithmManager island) throws IOException {
+        GenomeCodec.writeSeries(out, island.getBestSpecimenData());
+        GenomeCodec.writeSeries(out, island.getAverageSpecimenData());
+        GenomeCodec.writeSeries(out, island.getWorstSpecimenData());
+        out.writeDouble(island.getEverBestFitness());
+        out.writeDouble(island.getEverWorstFitness());
+        out.writeDouble(island.getFitnessCache().getHitRate());
+        GenomeCodec.writeSpecimen(out, island.getEverBestSpecimen());
+        out.flush();
+    }
+}
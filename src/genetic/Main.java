@@ -17,6 +17,9 @@ public class Main {
     private static final String definitionFileCatalog = "src/ms_rcpsp_lib/assets/def_small/";
     private static final String definitionFile = "200_20_55_9.def";
     private static final String writeFile = "src/ms_rcpsp_lib/solutions_small/10_3_5_3.sol";
+    private static final int MIGRATION_INTERVAL = 25;
+    private static final int MIGRANTS_COUNT = 2;
+    private static final int STAGNATION_GENERATIONS = 150;
 
     public static void main(String[] args) {
 
@@ -26,17 +29,57 @@ public class Main {
             LOGGER.log(Level.WARNING, "Could not read the Definition " + definitionFile);
         }
 
-        GeneticAlgorithmManager geneticAlgorithmManager = new GeneticAlgorithmManager(schedule);
-        geneticAlgorithmManager.run();
-
+        // passing the seed of a previous run repeats it exactly
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+        System.out.println("Seed: " + seed);
+        // more than one island splits the population between islands evolved in parallel
+        int islandsCount = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        // islands can also be evolved in separate processes
+        boolean separateProcesses = args.length > 2 && "processes".equals(args[2]);
         ChartManager chartManager = new ChartManager();
-        chartManager.displayChart(
-                geneticAlgorithmManager.getBestSpecimenData(),
-                geneticAlgorithmManager.getAverageSpecimenData(),
-                geneticAlgorithmManager.getWorstSpecimenData(),
-                definitionFile,
-                "Tournament"
-        );
+        if (islandsCount > 1 && separateProcesses) {
+            MultiProcessIslandManager multiProcessIslandManager = new MultiProcessIslandManager(
+                    definitionFileCatalog + definitionFile, islandsCount,
+                    GeneticAlgorithmManager.POPULATION_SIZE / islandsCount, MIGRATION_INTERVAL, MIGRANTS_COUNT,
+                    IslandModelManager.MigrationTopology.RING, new SplitMixRandomSource(seed));
+            try {
+                multiProcessIslandManager.run();
+                schedule = multiProcessIslandManager.getBestSchedule();
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Islands failed", e);
+                return;
+            }
+            chartManager.displayChart(
+                    multiProcessIslandManager.getBestSpecimenData(),
+                    multiProcessIslandManager.getAverageSpecimenData(),
+                    multiProcessIslandManager.getWorstSpecimenData(),
+                    definitionFile,
+                    "Tournament, " + islandsCount + " island processes"
+            );
+        } else if (islandsCount > 1) {
+            IslandModelManager islandModelManager = new IslandModelManager(schedule, islandsCount,
+                    GeneticAlgorithmManager.POPULATION_SIZE / islandsCount, MIGRATION_INTERVAL, MIGRANTS_COUNT,
+                    IslandModelManager.MigrationTopology.RING, new SplitMixRandomSource(seed));
+            islandModelManager.run();
+            chartManager.displayChart(
+                    islandModelManager.getBestSpecimenData(),
+                    islandModelManager.getAverageSpecimenData(),
+                    islandModelManager.getWorstSpecimenData(),
+                    definitionFile,
+                    "Tournament, " + islandsCount + " islands"
+            );
+        } else {
+            GeneticAlgorithmManager geneticAlgorithmManager = new GeneticAlgorithmManager(schedule, seed);
+            geneticAlgorithmManager.addTerminationCriterion(TerminationCriteria.stagnation(STAGNATION_GENERATIONS));
+            geneticAlgorithmManager.run();
+            chartManager.displayChart(
+                    geneticAlgorithmManager.getBestSpecimenData(),
+                    geneticAlgorithmManager.getAverageSpecimenData(),
+                    geneticAlgorithmManager.getWorstSpecimenData(),
+                    definitionFile,
+                    "Tournament"
+            );
+        }
 
         try {
             reader.write(schedule, writeFile);
@@ -0,0 +1,19 @@
+package genetic;
+
+import java.util.List;
+
+/**
+ * Moves specimens between populations evolved in parallel.
+ */
+interface MigrantExchange {
+
+    /**
+     * Sends specimens of a population and receives specimens sent to it.
+     * Blocks until all populations taking part in the migration have sent theirs.
+     *
+     * @param migrationNumber number of the migration, starting from 0
+     * @param emigrants       evaluated specimens leaving the population
+     * @return evaluated specimens joining the population, in a reproducible order
+     */
+    List<Specimen> exchange(int migrationNumber, Specimen[] emigrants);
+}
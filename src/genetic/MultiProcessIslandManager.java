@@ -0,0 +1,281 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.greedy.Greedy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs islands of the genetic algorithm in separate JVM processes, so they
+ * are not limited by heap and garbage collection of a single JVM. Acts as
+ * the coordinator - starts the processes, which connect to it over
+ * loopback TCP, and routes migrants between them in the compact format
+ * of <code>GenomeCodec</code>. Finally gathers statistics of all islands
+ * and the best specimen found, which is decoded into a schedule.
+ * <p>
+ * Islands are seeded from the coordinator's random source and migrants
+ * are routed in the order of islands, so a run is reproducible from its
+ * seed, like the one of <code>IslandModelManager</code>.
+ * <p>
+ * Islands may also be run in threads of the coordinator's JVM, still
+ * talking to it over loopback TCP, so the whole protocol can be tested
+ * in a single process.
+ */
+class MultiProcessIslandManager {
+
+    private static final int CONNECTION_TIMEOUT_MILLIS = 60000;
+
+    private final String definitionFile;
+    private final Schedule caseDescriptionSchedule;
+    private final ProblemInstance caseDescriptionInstance;
+    private final int islandsCount;
+    private final int islandPopulationSize;
+    private final int migrationInterval;
+    private final int migrantsCount;
+    private final int[][] migrationDestinations;
+    private final long[] islandSeeds;
+
+    private boolean islandsInThreads;
+    private final List<Process> processes = new ArrayList<>();
+    private final List<FutureTask<Void>> islandThreads = new ArrayList<>();
+    private final List<Socket> sockets = new ArrayList<>();
+    private final List<DataInputStream> inputs = new ArrayList<>();
+    private final List<DataOutputStream> outputs = new ArrayList<>();
+
+    //global statistics
+    private double[] generationBestFitnesses;
+    private double[] generationAverageFitnesses;
+    private double[] generationWorstFitnesses;
+    private Specimen bestSpecimen;
+
+    /**
+     * @param definitionFile       file with definition of the problem, read by every process
+     * @param islandsCount         number of islands, each one evolved in its own process
+     * @param islandPopulationSize number of specimens on every island
+     * @param migrationInterval    number of generations between migrations
+     * @param migrantsCount        number of specimens sent by an island in every migration
+     * @param topology             determines where islands send their migrants
+     * @param random               source of random decisions, split between islands
+     */
+    MultiProcessIslandManager(String definitionFile, int islandsCount, int islandPopulationSize, int migrationInterval,
+                              int migrantsCount, IslandModelManager.MigrationTopology topology, RandomSource random) {
+        if (islandsCount < 1) {
+            throw new IllegalArgumentException("At least one island is required");
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("Migration interval has to be positive");
+        }
+        if (migrantsCount < 0 || migrantsCount > islandPopulationSize) {
+            throw new IllegalArgumentException("Number of migrants has to fit in the population of an island");
+        }
+        caseDescriptionSchedule = new MSRCPSPIO().readDefinition(definitionFile);
+        if (caseDescriptionSchedule == null) {
+            throw new IllegalArgumentException("Could not read the definition " + definitionFile);
+        }
+        this.definitionFile = definitionFile;
+        caseDescriptionInstance = caseDescriptionSchedule.getInstance();
+        this.islandsCount = islandsCount;
+        this.islandPopulationSize = islandPopulationSize;
+        this.migrationInterval = migrationInterval;
+        this.migrantsCount = migrantsCount;
+
+        islandSeeds = new long[islandsCount];
+        for (int i = 0; i < islandsCount; i++) {
+            islandSeeds[i] = random.split().nextLong();
+        }
+        migrationDestinations = IslandModelManager.drawMigrationDestinations(islandsCount, migrationInterval, topology, random.split());
+    }
+
+    /**
+     * Starts island processes and coordinates them until they finish.
+     *
+     * @throws IOException if starting or communicating with the processes fails
+     */
+    void run() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0, islandsCount, InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout(CONNECTION_TIMEOUT_MILLIS);
+            for (int i = 0; i < islandsCount; i++) {
+                startIsland(serverSocket.getLocalPort(), i);
+            }
+            connectIslands(serverSocket);
+            for (int migrationNumber = 0; migrationNumber < migrationDestinations.length; migrationNumber++) {
+                routeMigrants(migrationDestinations[migrationNumber]);
+            }
+            collectResults();
+            waitForIslands();
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            for (Process process : processes) {
+                process.destroy();
+            }
+            for (FutureTask<Void> islandThread : islandThreads) {
+                islandThread.cancel(true);
+            }
+        }
+        printStatistics();
+    }
+
+    private void startIsland(int port, int islandIndex) throws IOException {
+        final String[] arguments = {String.valueOf(port), String.valueOf(islandIndex),
+                String.valueOf(islandSeeds[islandIndex]), definitionFile, String.valueOf(islandPopulationSize),
+                String.valueOf(migrationInterval), String.valueOf(migrantsCount)};
+        if (islandsInThreads) {
+            FutureTask<Void> islandThread = new FutureTask<>(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    IslandProcess.run(arguments);
+                    return null;
+                }
+            });
+            Thread thread = new Thread(islandThread, "island-" + islandIndex);
+            thread.setDaemon(true);
+            thread.start();
+            islandThreads.add(islandThread);
+            return;
+        }
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>(Arrays.asList(java, "-cp", System.getProperty("java.class.path"),
+                IslandProcess.class.getName()));
+        command.addAll(Arrays.asList(arguments));
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.inheritIO();
+        processes.add(builder.start());
+    }
+
+    private void connectIslands(ServerSocket serverSocket) throws IOException {
+        Socket[] connected = new Socket[islandsCount];
+        for (int i = 0; i < islandsCount; i++) {
+            Socket socket = serverSocket.accept();
+            sockets.add(socket);
+            socket.setTcpNoDelay(true);
+            int islandIndex = new DataInputStream(socket.getInputStream()).readInt();
+            if (islandIndex < 0 || islandIndex >= islandsCount || connected[islandIndex] != null) {
+                throw new IOException("Unexpected island " + islandIndex + " connected");
+            }
+            connected[islandIndex] = socket;
+        }
+        for (Socket socket : connected) {
+            inputs.add(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+            outputs.add(new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+        }
+    }
+
+    private void routeMigrants(int[] destinations) throws IOException {
+        List<List<Specimen>> emigrants = new ArrayList<>(islandsCount);
+        for (DataInputStream input : inputs) {
+            emigrants.add(GenomeCodec.readSpecimens(input, caseDescriptionInstance));
+        }
+        for (int destination = 0; destination < islandsCount; destination++) {
+            List<Specimen> immigrants = new ArrayList<>();
+            for (int source = 0; source < islandsCount; source++) {
+                if (destinations[source] == destination && source != destination) {
+                    immigrants.addAll(emigrants.get(source));
+                }
+            }
+            GenomeCodec.writeSpecimens(outputs.get(destination), immigrants.toArray(new Specimen[immigrants.size()]));
+            outputs.get(destination).flush();
+        }
+    }
+
+    private void collectResults() throws IOException {
+        double[][] islandsStatistics = new double[3 * islandsCount][];
+        for (int i = 0; i < islandsCount; i++) {
+            DataInputStream input = inputs.get(i);
+            for (int j = 0; j < 3; j++) {
+                islandsStatistics[3 * i + j] = GenomeCodec.readSeries(input, GeneticAlgorithmManager.GENERATIONS_COUNT);
+            }
+            double everBestFitness = input.readDouble();
+            double everWorstFitness = input.readDouble();
+            double cacheHitRate = input.readDouble();
+            Specimen islandBestSpecimen = GenomeCodec.readSpecimen(input, caseDescriptionInstance);
+            if (bestSpecimen == null || islandBestSpecimen.getEvalValue() < bestSpecimen.getEvalValue()) {
+                bestSpecimen = islandBestSpecimen;
+            }
+            IslandModelManager.printIslandStatistics(i, everBestFitness, islandsStatistics[3 * i + 1], everWorstFitness, cacheHitRate);
+        }
+        double[][] globalStatistics = IslandModelManager.mergeStatistics(islandsStatistics);
+        generationBestFitnesses = globalStatistics[0];
+        generationAverageFitnesses = globalStatistics[1];
+        generationWorstFitnesses = globalStatistics[2];
+    }
+
+    private void waitForIslands() throws IOException {
+        try {
+            for (int i = 0; i < processes.size(); i++) {
+                Process process = processes.get(i);
+                if (!process.waitFor(CONNECTION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS) || process.exitValue() != 0) {
+                    throw new IOException("Island " + i + " did not finish properly");
+                }
+            }
+            for (int i = 0; i < islandThreads.size(); i++) {
+                islandThreads.get(i).get(CONNECTION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException("Island did not finish properly", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for islands", e);
+        }
+    }
+
+    private void printStatistics() {
+        IslandModelManager.printGlobalStatistics(generationBestFitnesses, generationAverageFitnesses, generationWorstFitnesses);
+    }
+
+    /**
+     * Decodes the best specimen found by all islands.
+     *
+     * @return new schedule with assignments and timestamps of the best specimen
+     */
+    Schedule getBestSchedule() {
+        SolutionState state = new SolutionState(bestSpecimen.getState());
+        new Greedy().buildTimestamps(state);
+        Schedule schedule = new Schedule(caseDescriptionSchedule);
+        state.applyTo(schedule);
+        return schedule;
+    }
+
+    /**
+     * @param islandsInThreads true to run islands in threads of this JVM instead of separate processes
+     */
+    void setIslandsInThreads(boolean islandsInThreads) {
+        this.islandsInThreads = islandsInThreads;
+    }
+
+    Specimen getBestSpecimen() {
+        return bestSpecimen;
+    }
+
+    double[] getBestSpecimenData() {
+        return generationBestFitnesses;
+    }
+
+    double[] getAverageSpecimenData() {
+        return generationAverageFitnesses;
+    }
+
+    double[] getWorstSpecimenData() {
+        return generationWorstFitnesses;
+    }
+}
@@ -0,0 +1,43 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.evaluation.DurationEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.validation.CompleteValidator;
+import ms_rcpsp_lib.src.msrcpsp.validation.ValidationResult;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class MultiProcessIslandManagerTest {
+
+  private static final String DEFINITION = "src/ms_rcpsp_lib/assets/test/10_7_10_7.def";
+
+  @Test
+  public void testLoopbackIslandsInThreads() throws IOException {
+    MultiProcessIslandManager first = runIslands(7);
+    MultiProcessIslandManager second = runIslands(7);
+
+    assertEquals("Wrong length of statistics", GeneticAlgorithmManager.GENERATIONS_COUNT, first.getBestSpecimenData().length);
+    assertArrayEquals("Run should be reproducible from its seed", first.getBestSpecimenData(), second.getBestSpecimenData(), 0);
+    assertArrayEquals("Run should be reproducible from its seed", first.getAverageSpecimenData(), second.getAverageSpecimenData(), 0);
+    assertArrayEquals("Specimen should travel unchanged", first.getBestSpecimen().getGenes(), second.getBestSpecimen().getGenes());
+
+    Schedule best = first.getBestSchedule();
+    assertEquals("Best schedule should be valid", ValidationResult.SUCCESS, new CompleteValidator().validate(best));
+    assertEquals("Best fitness should be the duration of the best schedule",
+        first.getBestSpecimen().getEvalValue(), new DurationEvaluator(best).evaluate(), 0);
+    double lastGenerationBest = first.getBestSpecimenData()[GeneticAlgorithmManager.GENERATIONS_COUNT - 1];
+    assertTrue("Best specimen should not be worse than the last generation", first.getBestSpecimen().getEvalValue() <= lastGenerationBest);
+  }
+
+  private static MultiProcessIslandManager runIslands(long seed) throws IOException {
+    MultiProcessIslandManager manager = new MultiProcessIslandManager(DEFINITION, 2, 10, 50, 2,
+        IslandModelManager.MigrationTopology.RING, new SplitMixRandomSource(seed));
+    manager.setIslandsInThreads(true);
+    manager.run();
+    return manager;
+  }
+
+}
@@ -0,0 +1,31 @@
+package genetic;
+
+/**
+ * Source of random decisions made by the genetic algorithm. Sources
+ * are not thread safe - every thread is supposed to use its own stream
+ * obtained with <code>split()</code>, so a run depends only on the seed
+ * of the first source, regardless of how many threads it uses.
+ */
+interface RandomSource {
+
+    /**
+     * @param bound upper bound, exclusive, has to be positive
+     * @return pseudorandom int between 0 and <code>bound</code>
+     */
+    int nextInt(int bound);
+
+    /**
+     * @return pseudorandom double between 0 (inclusive) and 1 (exclusive)
+     */
+    double nextDouble();
+
+    long nextLong();
+
+    /**
+     * Creates an independent stream, advancing this one. Streams split
+     * in the same order from sources with the same seed are the same.
+     *
+     * @return new source
+     */
+    RandomSource split();
+}
@@ -0,0 +1,97 @@
+package genetic;
+
+import java.util.Arrays;
+
+/**
+ * Progress of a run of the genetic algorithm after a generation,
+ * checked by <code>TerminationCriterion</code>s. Updated in place
+ * by the manager running the algorithm.
+ */
+class RunProgress {
+
+    private int generationNumber;
+    private long evaluationsCount;
+    private long elapsedNanos;
+    private double bestFitness;
+    private double everBestFitness;
+    private int generationsSinceImprovement;
+
+    private Specimen[] population;
+    private int populationSize;
+    //hashes of genomes of the population, sorted to count distinct ones
+    private long[] genomeHashes;
+    private double distinctGenomesFraction = Double.NaN;
+
+    void update(int generationNumber, long evaluationsCount, long elapsedNanos, double bestFitness,
+                double everBestFitness, int generationsSinceImprovement, Specimen[] population, int populationSize) {
+        this.generationNumber = generationNumber;
+        this.evaluationsCount = evaluationsCount;
+        this.elapsedNanos = elapsedNanos;
+        this.bestFitness = bestFitness;
+        this.everBestFitness = everBestFitness;
+        this.generationsSinceImprovement = generationsSinceImprovement;
+        this.population = population;
+        this.populationSize = populationSize;
+        distinctGenomesFraction = Double.NaN;
+    }
+
+    /**
+     * @return number of the last generation, starting from 0
+     */
+    int getGenerationNumber() {
+        return generationNumber;
+    }
+
+    long getEvaluationsCount() {
+        return evaluationsCount;
+    }
+
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return best fitness in the last generation
+     */
+    double getBestFitness() {
+        return bestFitness;
+    }
+
+    double getEverBestFitness() {
+        return everBestFitness;
+    }
+
+    /**
+     * @return number of generations since the best fitness ever found has improved
+     */
+    int getGenerationsSinceImprovement() {
+        return generationsSinceImprovement;
+    }
+
+    /**
+     * Measures diversity of the population, computed on first call
+     * after every generation in O(n log n).
+     *
+     * @return number of distinct genomes, with activity lists if there are any,
+     * divided by the population size
+     */
+    double getDistinctGenomesFraction() {
+        if (Double.isNaN(distinctGenomesFraction)) {
+            if (genomeHashes == null || genomeHashes.length != populationSize) {
+                genomeHashes = new long[populationSize];
+            }
+            for (int i = 0; i < populationSize; i++) {
+                genomeHashes[i] = FitnessCache.hash(population[i].getGenes(), population[i].getActivityList());
+            }
+            Arrays.sort(genomeHashes);
+            int distinctCount = populationSize > 0 ? 1 : 0;
+            for (int i = 1; i < populationSize; i++) {
+                if (genomeHashes[i] != genomeHashes[i - 1]) {
+                    distinctCount++;
+                }
+            }
+            distinctGenomesFraction = populationSize > 0 ? distinctCount / (double) populationSize : 0;
+        }
+        return distinctGenomesFraction;
+    }
+}
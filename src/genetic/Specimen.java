@@ -0,0 +1,87 @@
+package genetic;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.BaseIntIndividual;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+
+/**
+ * Individual, which genes are the resources assigned to tasks of its own
+ * solution. The solution keeps timestamps of the last evaluation, so after
+ * changing some of the genes with <code>setGene()</code> it can be
+ * re-decoded incrementally.
+ * <p>
+ * A specimen may also carry an activity list - order, in which its tasks
+ * are placed in the timeline - instead of relying on the topological order
+ * of the instance. Such specimens are always decoded from scratch.
+ */
+class Specimen extends BaseIntIndividual {
+
+    private final SolutionState state;
+    private final int[] activityList;
+
+    Specimen(SolutionState state) {
+        this(state, null);
+    }
+
+    /**
+     * @param state        solution, which assignments are the genes
+     * @param activityList order of placing tasks, null if the topological order of the instance is used
+     */
+    Specimen(SolutionState state, int[] activityList) {
+        super(state.getResources());
+        this.state = state;
+        this.activityList = activityList;
+    }
+
+    /**
+     * Copy constructor, the copy keeps timestamps and evaluation of the original.
+     *
+     * @param specimen specimen to copy
+     */
+    Specimen(Specimen specimen) {
+        this(new SolutionState(specimen.state), specimen.activityList == null ? null : specimen.activityList.clone());
+        setEvalValue(specimen.getEvalValue());
+    }
+
+    /**
+     * Overwrites this specimen with the other one, keeping timestamps
+     * and evaluation of the other one. Does not allocate.
+     *
+     * @param specimen specimen of the same instance and representation to copy
+     */
+    void copyFrom(Specimen specimen) {
+        state.copyFrom(specimen.state);
+        if (activityList != null) {
+            System.arraycopy(specimen.activityList, 0, activityList, 0, activityList.length);
+        }
+        setEvalValue(specimen.getEvalValue());
+    }
+
+    /**
+     * @param taskIndex     index of the task
+     * @param resourceIndex index of the resource to assign to the task
+     */
+    void setGene(int taskIndex, int resourceIndex) {
+        state.assign(taskIndex, resourceIndex);
+    }
+
+    /**
+     * Overwrites all genes, so the solution has to be decoded from scratch.
+     *
+     * @param genes genes to copy
+     */
+    @Override
+    public void setGenes(int[] genes) {
+        state.copyAssignments(genes);
+    }
+
+    SolutionState getState() {
+        return state;
+    }
+
+    /**
+     * @return order of placing tasks, null if the topological order of the instance is used
+     */
+    int[] getActivityList() {
+        return activityList;
+    }
+}
@@ -0,0 +1,43 @@
+package genetic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fast, non-cryptographic <code>RandomSource</code> backed by the
+ * SplitMix64 generator of <code>SplittableRandom</code>.
+ */
+class SplitMixRandomSource implements RandomSource {
+
+    private final SplittableRandom random;
+
+    /**
+     * @param seed seed of the stream, same seed gives the same stream
+     */
+    SplitMixRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplitMixRandomSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public RandomSource split() {
+        return new SplitMixRandomSource(random.split());
+    }
+}
@@ -0,0 +1,124 @@
+package genetic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory of common <code>TerminationCriterion</code>s. Criteria added
+ * to a manager are alternatives - the first one met stops the run -
+ * and <code>allOf()</code> combines criteria, which have to be met together.
+ */
+final class TerminationCriteria {
+
+    private TerminationCriteria() {
+    }
+
+    /**
+     * @param millis wall-clock time the run may take
+     */
+    static TerminationCriterion wallClock(final long millis) {
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(RunProgress progress) {
+                return progress.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(millis);
+            }
+
+            @Override
+            public String toString() {
+                return "wall-clock budget of " + millis + " ms";
+            }
+        };
+    }
+
+    /**
+     * @param evaluations number of evaluations the run may make
+     */
+    static TerminationCriterion evaluations(final long evaluations) {
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(RunProgress progress) {
+                return progress.getEvaluationsCount() >= evaluations;
+            }
+
+            @Override
+            public String toString() {
+                return "budget of " + evaluations + " evaluations";
+            }
+        };
+    }
+
+    /**
+     * @param generations number of generations without improvement of the best fitness ever found
+     */
+    static TerminationCriterion stagnation(final int generations) {
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(RunProgress progress) {
+                return progress.getGenerationsSinceImprovement() >= generations;
+            }
+
+            @Override
+            public String toString() {
+                return "stagnation for " + generations + " generations";
+            }
+        };
+    }
+
+    /**
+     * @param minDistinctFraction lowest fraction of distinct genomes in the population to carry on
+     */
+    static TerminationCriterion diversityCollapse(final double minDistinctFraction) {
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(RunProgress progress) {
+                return progress.getDistinctGenomesFraction() < minDistinctFraction;
+            }
+
+            @Override
+            public String toString() {
+                return "diversity collapse below " + minDistinctFraction + " of distinct genomes";
+            }
+        };
+    }
+
+    /**
+     * @param makespan duration of the project, which is good enough
+     */
+    static TerminationCriterion targetFitness(final double makespan) {
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(RunProgress progress) {
+                return progress.getEverBestFitness() <= makespan;
+            }
+
+            @Override
+            public String toString() {
+                return "target makespan of " + makespan;
+            }
+        };
+    }
+
+    /**
+     * @param criteria criteria, which all have to be met
+     */
+    static TerminationCriterion allOf(final TerminationCriterion... criteria) {
+        final List<TerminationCriterion> combined = Arrays.asList(criteria.clone());
+        return new TerminationCriterion() {
+            @Override
+            public boolean isMet(RunProgress progress) {
+                for (TerminationCriterion criterion : combined) {
+                    if (!criterion.isMet(progress)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public String toString() {
+                return "all of " + combined;
+            }
+        };
+    }
+}
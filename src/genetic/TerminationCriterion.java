@@ -0,0 +1,16 @@
+package genetic;
+
+/**
+ * Condition stopping a run of the genetic algorithm before
+ * all of <code>GeneticAlgorithmManager.GENERATIONS_COUNT</code>
+ * generations are over. Its <code>toString()</code> describes it
+ * when reporting why a run has stopped.
+ */
+interface TerminationCriterion {
+
+    /**
+     * @param progress progress of the run after the last generation
+     * @return true if the run should stop
+     */
+    boolean isMet(RunProgress progress);
+}
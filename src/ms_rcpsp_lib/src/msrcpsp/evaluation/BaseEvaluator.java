@@ -11,7 +11,14 @@ import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
  */
 abstract public class BaseEvaluator {
 
-    private Schedule schedule;
+    private final Schedule schedule;
+
+    /**
+     * Maximum duration and cost of the schedule, the same for every
+     * solution of the project, so computed once. -1 if not computed yet.
+     */
+    private int maxDuration = -1;
+    private int maxCost = -1;
 
     public BaseEvaluator(Schedule schedule) {
         this.schedule = schedule;
@@ -67,9 +74,10 @@ abstract public class BaseEvaluator {
     public double getCost() {
         double cost = 0;
         Task[] tasks = schedule.getTasks();
+        Resource[] resources = schedule.getResources();
         for (Task t : tasks) {
             if (t.getResourceId() != -1) {
-                cost += schedule.getResource(t.getResourceId()).getSalary()
+                cost += resources[schedule.getResourceIndex(t.getResourceId())].getSalary()
                         * t.getDuration();
 
             }
@@ -79,11 +87,18 @@ abstract public class BaseEvaluator {
     }
 
     /**
-     * Sums duration of all task of the schedule.
+     * Sums duration of all task of the schedule. Computed on first use.
      *
      * @return maximum possible duration of the schedule
      */
     public int getMaxDuration() {
+        if (-1 == maxDuration) {
+            maxDuration = computeMaxDuration();
+        }
+        return maxDuration;
+    }
+
+    private int computeMaxDuration() {
         int duration = 0;
         for (Task t : schedule.getTasks()) {
             duration += t.getDuration();
@@ -92,11 +107,18 @@ abstract public class BaseEvaluator {
     }
 
     /**
-     * Sums cost of all tasks of the schedule.
+     * Sums cost of all tasks of the schedule. Computed on first use.
      *
      * @return maximum possible cost of the schedule
      */
     public int getMaxCost() {
+        if (-1 == maxCost) {
+            maxCost = computeMaxCost();
+        }
+        return maxCost;
+    }
+
+    private int computeMaxCost() {
         Resource[] resources = schedule.getResources();
         Resource expRes = resources[0];
         for (Resource r : resources) {
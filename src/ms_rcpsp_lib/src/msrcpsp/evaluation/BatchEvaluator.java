@@ -0,0 +1,150 @@
+package ms_rcpsp_lib.src.msrcpsp.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+
+import java.util.Arrays;
+
+/**
+ * Decodes and evaluates many solutions of an instance at once. Assignments
+ * of a batch are laid out as a structure of arrays - resources of the same
+ * task in all solutions are next to each other, at
+ * <code>task * capacity + solution</code> - and all solutions are decoded
+ * in lockstep, a task at a time, so every inner loop runs over contiguous
+ * memory with no dependency between iterations.
+ * <p>
+ * Tasks are placed in the topological order of the instance, like
+ * <code>Greedy.buildTimestamps(SolutionState)</code> does, and cost is
+ * summed in the order of tasks, like <code>SolutionEvaluator</code> does,
+ * so results are the same, bit for bit, as evaluating solutions one by one.
+ * An evaluator keeps its buffers, so it is not supposed to be shared
+ * between threads.
+ */
+public class BatchEvaluator {
+
+    private final ProblemInstance instance;
+    private final int[] durations;
+    private final double[] salaries;
+    private final int capacity;
+
+    private final int[] resources;
+    private final int[] starts;
+    private final int[] finishes;
+    private final int[] makespans;
+    private final double[] costs;
+
+    /**
+     * @param instance instance, which solutions are evaluated
+     * @param capacity maximum number of solutions in a batch
+     */
+    public BatchEvaluator(ProblemInstance instance, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity of a batch has to be positive");
+        }
+        this.instance = instance;
+        this.capacity = capacity;
+        durations = instance.getDurations();
+        salaries = instance.getSalaries();
+        resources = new int[instance.getTaskCount() * capacity];
+        starts = new int[instance.getTaskCount() * capacity];
+        finishes = new int[instance.getResourceCount() * capacity];
+        makespans = new int[capacity];
+        costs = new double[capacity];
+    }
+
+    /**
+     * Puts assignments of a solution into the batch.
+     *
+     * @param solution          position of the solution in the batch
+     * @param solutionResources resource assigned to each task
+     */
+    public void setResources(int solution, int[] solutionResources) {
+        for (int taskIndex = 0; taskIndex < solutionResources.length; ++taskIndex) {
+            resources[taskIndex * capacity + solution] = solutionResources[taskIndex];
+        }
+    }
+
+    /**
+     * Decodes and evaluates first solutions of the batch.
+     *
+     * @param count number of solutions to evaluate
+     */
+    public void evaluate(int count) {
+        int[] predecessorOffsets = instance.getPredecessorOffsets();
+        int[] predecessors = instance.getPredecessorIndexes();
+        Arrays.fill(finishes, 0);
+        for (int taskIndex : instance.getTopologicalOrder()) {
+            int offset = taskIndex * capacity;
+            for (int i = 0; i < count; ++i) {
+                starts[offset + i] = finishes[resources[offset + i] * capacity + i];
+            }
+            for (int p = predecessorOffsets[taskIndex]; p < predecessorOffsets[taskIndex + 1]; ++p) {
+                int predecessorOffset = predecessors[p] * capacity;
+                int predecessorDuration = durations[predecessors[p]];
+                for (int i = 0; i < count; ++i) {
+                    starts[offset + i] = Math.max(starts[offset + i], starts[predecessorOffset + i] + predecessorDuration);
+                }
+            }
+            int duration = durations[taskIndex];
+            for (int i = 0; i < count; ++i) {
+                finishes[resources[offset + i] * capacity + i] = starts[offset + i] + duration;
+            }
+        }
+
+        Arrays.fill(makespans, 0, count, 0);
+        for (int r = 0; r < salaries.length; ++r) {
+            int offset = r * capacity;
+            for (int i = 0; i < count; ++i) {
+                makespans[i] = Math.max(makespans[i], finishes[offset + i]);
+            }
+        }
+        Arrays.fill(costs, 0, count, 0);
+        for (int taskIndex = 0; taskIndex < durations.length; ++taskIndex) {
+            int offset = taskIndex * capacity;
+            int duration = durations[taskIndex];
+            for (int i = 0; i < count; ++i) {
+                costs[i] += salaries[resources[offset + i]] * duration;
+            }
+        }
+    }
+
+    /**
+     * @param solution position of the solution in the batch
+     * @return makespan of the solution found by the last evaluation
+     */
+    public int getDuration(int solution) {
+        return makespans[solution];
+    }
+
+    /**
+     * @param solution position of the solution in the batch
+     * @return cost of the solution found by the last evaluation
+     */
+    public double getCost(int solution) {
+        return costs[solution];
+    }
+
+    /**
+     * Writes timestamps of a solution decoded by the last evaluation into
+     * its state and marks them as built, so the state can be re-decoded
+     * incrementally later on.
+     *
+     * @param solution position of the solution in the batch
+     * @param state    state with the assignments put into the batch at that position
+     */
+    public void copyTimestampsTo(int solution, SolutionState state) {
+        int[] stateStarts = state.getStarts();
+        int[] stateFinishes = state.getFinishes();
+        for (int taskIndex = 0; taskIndex < stateStarts.length; ++taskIndex) {
+            stateStarts[taskIndex] = starts[taskIndex * capacity + solution];
+        }
+        for (int r = 0; r < stateFinishes.length; ++r) {
+            stateFinishes[r] = finishes[r * capacity + solution];
+        }
+        state.markDecoded();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
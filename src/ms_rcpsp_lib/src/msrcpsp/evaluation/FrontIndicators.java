@@ -0,0 +1,112 @@
+package ms_rcpsp_lib.src.msrcpsp.evaluation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Quality indicators of two dimensional fronts of minimized objectives,
+ * e.g. normalized duration and cost. A front is given as arrays of
+ * coordinates along with the number of points, so arrays can be reused
+ * between generations, and a reference front - the true or the best
+ * known one - as a <code>KdTree</code>, which is built once.
+ * <p>
+ * Distances to the nearest point are looked up in k-d trees, which
+ * takes O(n log n) time for typical fronts, and the hypervolume is swept
+ * over points merge sorted by the first objective, which takes O(n log n)
+ * time for any front. Keeps scratch arrays, so it is not supposed to be
+ * shared between threads.
+ */
+public class FrontIndicators {
+
+    private final KdTree frontTree = new KdTree();
+    /**
+     * Indexes of points, sorted by the first objective for the sweep.
+     */
+    private Integer[] order = new Integer[0];
+
+    /**
+     * Generational distance - square root of the sum of squared distances
+     * from points of the front to the nearest points of the reference
+     * front, divided by the number of points of the front.
+     *
+     * @param xs        first objective of each point of the front
+     * @param ys        second objective of each point of the front
+     * @param count     number of points of the front
+     * @param reference reference front
+     * @return generational distance, 0 for an empty front
+     */
+    public double getGenerationalDistance(double[] xs, double[] ys, int count, KdTree reference) {
+        if (count == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < count; ++i) {
+            sum += reference.getNearestDistanceSquared(xs[i], ys[i]);
+        }
+        return Math.sqrt(sum) / count;
+    }
+
+    /**
+     * Inverted generational distance - generational distance with roles
+     * of the fronts swapped, so it measures how well the front covers
+     * the reference front. A tree of the front is built for the lookups.
+     *
+     * @param xs        first objective of each point of the front
+     * @param ys        second objective of each point of the front
+     * @param count     number of points of the front
+     * @param reference reference front
+     * @return inverted generational distance, 0 for an empty reference front
+     * and infinity for an empty front
+     */
+    public double getInvertedGenerationalDistance(double[] xs, double[] ys, int count, KdTree reference) {
+        if (reference.size() == 0) {
+            return 0;
+        }
+        frontTree.build(xs, ys, count);
+        double sum = 0;
+        for (int i = 0; i < reference.size(); ++i) {
+            sum += frontTree.getNearestDistanceSquared(reference.getX(i), reference.getY(i));
+        }
+        return Math.sqrt(sum) / reference.size();
+    }
+
+    /**
+     * Hypervolume - area dominated by the front and bounded by the reference
+     * point. Points are swept in the order of the first objective, adding
+     * a strip of area for every point improving the second objective, so
+     * dominated and duplicated points add nothing.
+     *
+     * @param xs         first objective of each point of the front
+     * @param ys         second objective of each point of the front
+     * @param count      number of points of the front
+     * @param referenceX first objective of the reference point, worse than of any point of interest
+     * @param referenceY second objective of the reference point, worse than of any point of interest
+     * @return hypervolume, points not better than the reference point in both objectives are ignored
+     */
+    public double getHypervolume(final double[] xs, double[] ys, int count, double referenceX, double referenceY) {
+        if (order.length < count) {
+            order = new Integer[count];
+        }
+        for (int i = 0; i < count; ++i) {
+            order[i] = i;
+        }
+        // stable merge sort, with no quadratic worst case for adversarial or duplicated points
+        Arrays.sort(order, 0, count, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer p1, Integer p2) {
+                return Double.compare(xs[p1], xs[p2]);
+            }
+        });
+
+        double hypervolume = 0;
+        double lowestY = referenceY;
+        for (int i = 0; i < count && xs[order[i]] < referenceX; ++i) {
+            int point = order[i];
+            if (ys[point] < lowestY) {
+                hypervolume += (referenceX - xs[point]) * (lowestY - ys[point]);
+                lowestY = ys[point];
+            }
+        }
+        return hypervolume;
+    }
+}
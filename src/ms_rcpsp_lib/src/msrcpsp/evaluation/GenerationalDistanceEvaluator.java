@@ -0,0 +1,51 @@
+package ms_rcpsp_lib.src.msrcpsp.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+
+/**
+ * Multi objective evaluator measuring how far the schedule is from
+ * a reference front - distance from its normalized duration and cost
+ * to the nearest point of the front, which is generational distance
+ * of a front made of this schedule only. Indicators of whole fronts
+ * are computed by <code>FrontIndicators</code>.
+ */
+public class GenerationalDistanceEvaluator extends BaseEvaluator {
+
+    private final KdTree referenceFront;
+
+    /**
+     * @param schedule       schedule to evaluate
+     * @param referenceFront reference front of normalized duration (x)
+     *                       and normalized cost (y), shared by copies
+     *                       of this evaluator
+     */
+    public GenerationalDistanceEvaluator(Schedule schedule, KdTree referenceFront) {
+        super(schedule);
+        this.referenceFront = referenceFront;
+    }
+
+    /**
+     * Distance to the nearest point of the reference front
+     *
+     * @return distance to the reference front, infinity if it is empty
+     */
+    @Override
+    public double evaluate() {
+        return referenceFront.getNearestDistance(getDurationNormalized(), getCostNormalized());
+    }
+
+    @Override
+    public BaseEvaluator getCopy(Schedule schedule) {
+        return new GenerationalDistanceEvaluator(schedule, referenceFront);
+    }
+
+    @Override
+    public EvaluatorType getType() {
+        return EvaluatorType.GENERATIONAL_DISTANCE_EVALUATOR;
+    }
+
+    public KdTree getReferenceFront() {
+        return referenceFront;
+    }
+
+}
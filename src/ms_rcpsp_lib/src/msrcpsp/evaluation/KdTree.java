@@ -0,0 +1,186 @@
+package ms_rcpsp_lib.src.msrcpsp.evaluation;
+
+/**
+ * Two dimensional k-d tree of objective points, e.g. (duration, cost)
+ * of a front, answering nearest neighbour queries in logarithmic
+ * expected time. The tree is implicit - points are reordered, so the
+ * median of every range is its root, splitting the range by x at even
+ * depths and by y at odd ones - so it needs no nodes.
+ * <p>
+ * Arrays are reused if a tree is built again for no more points than
+ * it was built for before, so a tree of a front can be rebuilt every
+ * generation without allocation. Queries do not change the tree.
+ */
+public class KdTree {
+
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int size;
+
+    /**
+     * Creates an empty tree.
+     */
+    public KdTree() {
+    }
+
+    /**
+     * Creates a tree of given points.
+     *
+     * @param pointXs x of each point
+     * @param pointYs y of each point
+     * @param count   number of points
+     */
+    public KdTree(double[] pointXs, double[] pointYs, int count) {
+        build(pointXs, pointYs, count);
+    }
+
+    /**
+     * Replaces points of the tree. Points are copied, so arrays
+     * may be changed afterwards.
+     *
+     * @param pointXs x of each point
+     * @param pointYs y of each point
+     * @param count   number of points
+     */
+    public void build(double[] pointXs, double[] pointYs, int count) {
+        if (xs.length < count) {
+            xs = new double[count];
+            ys = new double[count];
+        }
+        System.arraycopy(pointXs, 0, xs, 0, count);
+        System.arraycopy(pointYs, 0, ys, 0, count);
+        size = count;
+        buildRange(0, count, 0);
+    }
+
+    private void buildRange(int from, int to, int depth) {
+        while (to - from > 1) {
+            int median = (from + to) >>> 1;
+            select(from, to - 1, median, depth % 2 == 0 ? xs : ys);
+            buildRange(median + 1, to, depth + 1);
+            to = median;
+            ++depth;
+        }
+    }
+
+    /**
+     * Moves the point, which would be k-th if the range was sorted by given
+     * coordinate, to position k, with no greater coordinates before it and
+     * no smaller ones after it.
+     */
+    private void select(int left, int right, int k, double[] keys) {
+        while (left < right) {
+            double pivot = keys[k];
+            int i = left;
+            int j = right;
+            do {
+                while (keys[i] < pivot) {
+                    ++i;
+                }
+                while (pivot < keys[j]) {
+                    --j;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            } while (i <= j);
+            if (j < k) {
+                left = i;
+            }
+            if (k < i) {
+                right = j;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+        double y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+    }
+
+    /**
+     * Finds Euclidean distance from a point to the nearest point of the tree.
+     *
+     * @param x x of the point
+     * @param y y of the point
+     * @return distance to the nearest point, infinity if the tree is empty
+     */
+    public double getNearestDistance(double x, double y) {
+        return Math.sqrt(getNearestDistanceSquared(x, y));
+    }
+
+    /**
+     * Finds squared Euclidean distance from a point to the nearest point of the tree.
+     *
+     * @param x x of the point
+     * @param y y of the point
+     * @return squared distance to the nearest point, infinity if the tree is empty
+     */
+    public double getNearestDistanceSquared(double x, double y) {
+        return nearest(0, size, 0, x, y, 0, 0, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Searches a range for a point closer than the best one found so far.
+     * Offsets are distances from the point to the cell of the range along
+     * each axis, following from the splits above it, so a cell is skipped
+     * if it is farther than the best point as a whole, not just across
+     * the last split.
+     */
+    private double nearest(int from, int to, int depth, double x, double y,
+                           double offsetX, double offsetY, double best) {
+        while (from < to) {
+            int median = (from + to) >>> 1;
+            double dx = xs[median] - x;
+            double dy = ys[median] - y;
+            best = Math.min(best, dx * dx + dy * dy);
+            boolean splitByX = depth % 2 == 0;
+            double split = splitByX ? x - xs[median] : y - ys[median];
+            ++depth;
+            // the side containing the point first, then the other one with the offset across the split
+            if (split < 0) {
+                best = nearest(from, median, depth, x, y, offsetX, offsetY, best);
+                from = median + 1;
+            } else {
+                best = nearest(median + 1, to, depth, x, y, offsetX, offsetY, best);
+                to = median;
+            }
+            if (splitByX) {
+                offsetX = split;
+            } else {
+                offsetY = split;
+            }
+            if (offsetX * offsetX + offsetY * offsetY >= best) {
+                return best;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param index position of the point in the tree, from 0 to <code>size() - 1</code>
+     * @return x of the point
+     */
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * @param index position of the point in the tree, from 0 to <code>size() - 1</code>
+     * @return y of the point
+     */
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * @return number of points in the tree
+     */
+    public int size() {
+        return size;
+    }
+}
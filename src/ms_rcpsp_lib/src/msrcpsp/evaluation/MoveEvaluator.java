@@ -0,0 +1,242 @@
+package ms_rcpsp_lib.src.msrcpsp.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.greedy.Greedy;
+
+/**
+ * Evaluates moves - reassignment of a task or swap of resources of two
+ * tasks - of a solution without changing it. Change of cost is computed
+ * from salaries of the resources involved in constant time. Makespan
+ * is computed without decoding if the moved task is the last one on
+ * both resources and has no successors, so no other task is affected.
+ * Otherwise the move is applied to a private copy of the solution, which
+ * is re-decoded incrementally with <code>Greedy.rebuildTimestamps()</code>
+ * and then reverted the same way.
+ * <p>
+ * Solutions are decoded in the topological order of the instance, like
+ * <code>Greedy.buildTimestamps(SolutionState)</code> does. Capability of
+ * resources is not checked. Fills the same <code>ObjectiveVector</code> for
+ * every move, so an evaluator is not supposed to be shared between threads.
+ */
+public class MoveEvaluator {
+
+    private final ProblemInstance instance;
+    private final int[] durations;
+    private final double[] salaries;
+    private final int[] topologicalPositions;
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+    private final SolutionEvaluator solutionEvaluator;
+    private final Greedy greedy = new Greedy();
+    private final ObjectiveVector moveObjectives = new ObjectiveVector();
+
+    /**
+     * Copy of the evaluated solution, moves are applied to it and reverted.
+     */
+    private final SolutionState solution;
+    private int duration;
+    private double cost;
+    /**
+     * Task placed last on each resource (-1 if there is none) and finish
+     * of the resource without that task.
+     */
+    private final int[] lastTasks;
+    private final int[] previousFinishes;
+    /**
+     * Resources with the three latest finishes, latest first (-1 if there
+     * are fewer resources), so makespan without any two resources is known.
+     */
+    private final int[] latestResources = new int[3];
+
+    private long shortcutCount;
+    private long redecodedCount;
+
+    /**
+     * @param instance instance, which solutions are evaluated
+     */
+    public MoveEvaluator(ProblemInstance instance) {
+        this.instance = instance;
+        durations = instance.getDurations();
+        salaries = instance.getSalaries();
+        topologicalPositions = instance.getTopologicalPositions();
+        predecessorOffsets = instance.getPredecessorOffsets();
+        predecessors = instance.getPredecessorIndexes();
+        solutionEvaluator = new SolutionEvaluator(instance);
+        solution = new SolutionState(instance);
+        lastTasks = new int[instance.getResourceCount()];
+        previousFinishes = new int[instance.getResourceCount()];
+    }
+
+    /**
+     * Sets solution, which moves are evaluated. The solution is copied,
+     * so it may be changed afterwards. Timestamps are brought up to date
+     * in the copy if they were not built for all assignments.
+     *
+     * @param state solution with all tasks assigned
+     */
+    public void setSolution(SolutionState state) {
+        solution.copyFrom(state);
+        greedy.rebuildTimestamps(solution);
+        ObjectiveVector objectives = solutionEvaluator.evaluate(solution);
+        duration = objectives.getDuration();
+        cost = objectives.getCost();
+
+        int[] starts = solution.getStarts();
+        int[] resources = solution.getResources();
+        int[] finishes = solution.getFinishes();
+        for (int r = 0; r < lastTasks.length; ++r) {
+            lastTasks[r] = -1;
+            previousFinishes[r] = 0;
+        }
+        for (int taskIndex : instance.getTopologicalOrder()) {
+            int resource = resources[taskIndex];
+            if (-1 != lastTasks[resource]) {
+                previousFinishes[resource] = starts[lastTasks[resource]] + durations[lastTasks[resource]];
+            }
+            lastTasks[resource] = taskIndex;
+        }
+        for (int i = 0; i < latestResources.length; ++i) {
+            latestResources[i] = -1;
+        }
+        for (int r = 0; r < finishes.length; ++r) {
+            int resource = r;
+            for (int i = 0; i < latestResources.length && -1 != resource; ++i) {
+                if (-1 == latestResources[i] || finishes[resource] > finishes[latestResources[i]]) {
+                    int replaced = latestResources[i];
+                    latestResources[i] = resource;
+                    resource = replaced;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates assigning a task to another resource.
+     *
+     * @param taskIndex     index of the task
+     * @param resourceIndex index of the resource to assign
+     * @return objectives of the solution after the move, overwritten by the next evaluation
+     */
+    public ObjectiveVector evaluateReassignment(int taskIndex, int resourceIndex) {
+        int previousResource = solution.getResources()[taskIndex];
+        if (resourceIndex == previousResource) {
+            ++shortcutCount;
+            return setObjectives(duration, cost);
+        }
+        double movedCost = cost + (salaries[resourceIndex] - salaries[previousResource]) * durations[taskIndex];
+        int movedDuration;
+        if (affectsOnlyItself(taskIndex, previousResource, resourceIndex)) {
+            movedDuration = getDurationAfterLastMove(taskIndex, previousResource, resourceIndex);
+            ++shortcutCount;
+        } else {
+            movedDuration = redecode(taskIndex, resourceIndex, -1, -1);
+        }
+        return setObjectives(movedDuration, movedCost);
+    }
+
+    /**
+     * Evaluates exchanging resources of two tasks.
+     *
+     * @param taskIndex      index of the first task
+     * @param otherTaskIndex index of the second task
+     * @return objectives of the solution after the move, overwritten by the next evaluation
+     */
+    public ObjectiveVector evaluateSwap(int taskIndex, int otherTaskIndex) {
+        int resource = solution.getResources()[taskIndex];
+        int otherResource = solution.getResources()[otherTaskIndex];
+        if (resource == otherResource) {
+            ++shortcutCount;
+            return setObjectives(duration, cost);
+        }
+        double movedCost = cost + (salaries[otherResource] - salaries[resource]) * durations[taskIndex]
+                + (salaries[resource] - salaries[otherResource]) * durations[otherTaskIndex];
+        return setObjectives(redecode(taskIndex, otherResource, otherTaskIndex, resource), movedCost);
+    }
+
+    /**
+     * Checks whether the task is placed last on its resource, would be
+     * placed last on the other one and has no successors to delay.
+     */
+    private boolean affectsOnlyItself(int taskIndex, int previousResource, int resourceIndex) {
+        int lastTask = lastTasks[resourceIndex];
+        return lastTasks[previousResource] == taskIndex && !instance.hasSuccessors(taskIndex)
+                && (-1 == lastTask || topologicalPositions[lastTask] < topologicalPositions[taskIndex]);
+    }
+
+    private int getDurationAfterLastMove(int taskIndex, int previousResource, int resourceIndex) {
+        int[] starts = solution.getStarts();
+        int start = solution.getFinishes()[resourceIndex];
+        for (int p = predecessorOffsets[taskIndex]; p < predecessorOffsets[taskIndex + 1]; ++p) {
+            start = Math.max(start, starts[predecessors[p]] + durations[predecessors[p]]);
+        }
+        int movedDuration = Math.max(start + durations[taskIndex], previousFinishes[previousResource]);
+        for (int resource : latestResources) {
+            if (resource != previousResource && resource != resourceIndex) {
+                if (-1 != resource) {
+                    movedDuration = Math.max(movedDuration, solution.getFinishes()[resource]);
+                }
+                break;
+            }
+        }
+        return movedDuration;
+    }
+
+    /**
+     * Applies reassignments to the copy of the solution, re-decodes it
+     * incrementally and reverts it.
+     *
+     * @return makespan after the reassignments
+     */
+    private int redecode(int taskIndex, int resourceIndex, int otherTaskIndex, int otherResourceIndex) {
+        int previousResource = solution.getResources()[taskIndex];
+        int otherPreviousResource = -1 == otherTaskIndex ? -1 : solution.getResources()[otherTaskIndex];
+        solution.assign(taskIndex, resourceIndex);
+        if (-1 != otherTaskIndex) {
+            solution.assign(otherTaskIndex, otherResourceIndex);
+        }
+        int movedDuration = greedy.rebuildTimestamps(solution).getDuration();
+
+        solution.assign(taskIndex, previousResource);
+        if (-1 != otherTaskIndex) {
+            solution.assign(otherTaskIndex, otherPreviousResource);
+        }
+        greedy.rebuildTimestamps(solution);
+        ++redecodedCount;
+        return movedDuration;
+    }
+
+    private ObjectiveVector setObjectives(int movedDuration, double movedCost) {
+        moveObjectives.set(movedDuration, movedCost, movedDuration / (double) solutionEvaluator.getMaxDuration(),
+                movedCost / (double) solutionEvaluator.getMaxCost());
+        return moveObjectives;
+    }
+
+    /**
+     * @return makespan of the solution
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return cost of the solution
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * @return number of moves evaluated without decoding
+     */
+    public long getShortcutCount() {
+        return shortcutCount;
+    }
+
+    /**
+     * @return number of moves evaluated by re-decoding the solution
+     */
+    public long getRedecodedCount() {
+        return redecodedCount;
+    }
+}
@@ -0,0 +1,68 @@
+package ms_rcpsp_lib.src.msrcpsp.evaluation;
+
+/**
+ * Objectives of a solution computed by <code>SolutionEvaluator</code>.
+ * The evaluator fills the same vector for every solution, so values
+ * have to be read before the next evaluation.
+ */
+public class ObjectiveVector {
+
+    private int duration;
+    private double cost;
+    private double durationNormalized;
+    private double costNormalized;
+
+    void set(int duration, double cost, double durationNormalized, double costNormalized) {
+        this.duration = duration;
+        this.cost = cost;
+        this.durationNormalized = durationNormalized;
+        this.costNormalized = costNormalized;
+    }
+
+    /**
+     * @return total duration of the project
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return total cost of the project
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * @return duration divided by maximum duration of the project
+     */
+    public double getDurationNormalized() {
+        return durationNormalized;
+    }
+
+    /**
+     * @return cost divided by maximum cost of the project
+     */
+    public double getCostNormalized() {
+        return costNormalized;
+    }
+
+    /**
+     * Weighs normalized objectives like <code>WeightedEvaluator</code> does.
+     *
+     * @param evalRate weight of duration, 1 - evaluation rate is used with cost
+     * @return weighted sum of normalized duration and cost
+     */
+    public double getWeighted(double evalRate) {
+        if (evalRate > 1 || evalRate < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot provide the evalRate smaller than 0 or bigger than 1!");
+        }
+        return durationNormalized * evalRate + costNormalized * (1 - evalRate);
+    }
+
+    @Override
+    public String toString() {
+        return "duration: " + duration + ", cost: " + cost;
+    }
+}
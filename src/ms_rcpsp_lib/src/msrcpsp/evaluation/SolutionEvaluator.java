@@ -0,0 +1,85 @@
+package ms_rcpsp_lib.src.msrcpsp.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+
+/**
+ * Evaluates solutions kept in their primitive representation. Computes
+ * duration and cost of a solution in a single pass over its tasks and
+ * resources and normalizes them the way <code>BaseEvaluator</code> does,
+ * with maximum duration and cost of the project computed once.
+ * <p>
+ * Fills the same <code>ObjectiveVector</code> on every evaluation,
+ * so an evaluator is not supposed to be shared between threads.
+ */
+public class SolutionEvaluator {
+
+    private final int[] durations;
+    private final double[] salaries;
+    private final int maxDuration;
+    private final int maxCost;
+    private final ObjectiveVector objectives = new ObjectiveVector();
+
+    /**
+     * @param instance instance, which solutions are evaluated
+     */
+    public SolutionEvaluator(ProblemInstance instance) {
+        durations = instance.getDurations();
+        salaries = instance.getSalaries();
+
+        int duration = 0;
+        double maxSalary = salaries[0];
+        for (double salary : salaries) {
+            if (salary > maxSalary) {
+                maxSalary = salary;
+            }
+        }
+        int cost = 0;
+        for (int taskDuration : durations) {
+            duration += taskDuration;
+            // rounded after every task like BaseEvaluator.getMaxCost()
+            cost += taskDuration * maxSalary;
+        }
+        maxDuration = duration;
+        maxCost = cost;
+    }
+
+    /**
+     * Computes all objectives of a solution with built timestamps.
+     *
+     * @param state solution to evaluate
+     * @return objectives of the solution, overwritten by the next evaluation
+     */
+    public ObjectiveVector evaluate(SolutionState state) {
+        int[] resources = state.getResources();
+        double cost = 0;
+        for (int taskIndex = 0; taskIndex < resources.length; ++taskIndex) {
+            int resource = resources[taskIndex];
+            if (resource != -1) {
+                cost += salaries[resource] * durations[taskIndex];
+            }
+        }
+        int duration = 0;
+        for (int finish : state.getFinishes()) {
+            if (finish > duration) {
+                duration = finish;
+            }
+        }
+        objectives.set(duration, cost, duration / (double) maxDuration, cost / (double) maxCost);
+        return objectives;
+    }
+
+    /**
+     * @return sum of durations of all tasks
+     */
+    public int getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * @return cost of doing all tasks by the most expensive resource
+     */
+    public int getMaxCost() {
+        return maxCost;
+    }
+}
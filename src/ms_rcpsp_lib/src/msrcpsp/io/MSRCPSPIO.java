@@ -6,6 +6,7 @@ import ms_rcpsp_lib.src.msrcpsp.scheduling.Skill;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
 
 import java.io.*;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -22,7 +23,11 @@ public class MSRCPSPIO {
     private static final Logger LOGGER = Logger.getLogger(MSRCPSPIO.class.getName());
 
     /**
-     * Reads a .def file and builds a schedule from it.
+     * Reads a .def file and builds a schedule from it. Skill types
+     * of the schedule are interned to dense ids, in order of appearance,
+     * so its skills are immutable - <code>Skill.setType</code> and
+     * <code>Skill.setLevel</code> throw <code>IllegalStateException</code>.
+     * Replace a skill with a new one to change it.
      *
      * @param fileName path to the file
      * @return Schedule build from the file
@@ -42,15 +47,16 @@ public class MSRCPSPIO {
         int numResources;
         Resource[] resources;
         Task[] tasks;
+        Map<String, Integer> skillTypeIds = new HashMap<>();
 
         try {
             line = reader.readLine();
             numTasks = readNumber(reader, line, "Tasks");
             numResources = readNumber(reader, line, "Resources");
             skipTo(reader, line, "ResourceID");
-            resources = readResources(reader, numResources);
+            resources = readResources(reader, numResources, skillTypeIds);
             skipTo(reader, line, "TaskID");
-            tasks = readTasks(reader, numTasks);
+            tasks = readTasks(reader, numTasks, skillTypeIds);
 
             schedule = new Schedule(tasks, resources);
 
@@ -86,10 +92,12 @@ public class MSRCPSPIO {
      *
      * @param reader       used reader
      * @param numResources number of resources to readDefinition
+     * @param skillTypeIds ids of skill types interned so far
      * @return Array of resources
      * @throws IOException when file is in the wrong format
      */
-    private Resource[] readResources(BufferedReader reader, int numResources) throws IOException {
+    private Resource[] readResources(BufferedReader reader, int numResources,
+                                     Map<String, Integer> skillTypeIds) throws IOException {
         Resource[] resources = new Resource[numResources];
         String line;
         String[] parts;
@@ -104,7 +112,7 @@ public class MSRCPSPIO {
             id = Integer.parseInt(parts[0]);
             salary = Double.parseDouble(parts[1]);
             skills = new Skill[(parts.length - 1) / 2];
-            skills = readSkills(skills, parts);
+            skills = readSkills(skills, parts, skillTypeIds);
 
             resources[i] = new Resource(id, salary, skills);
         }
@@ -115,30 +123,50 @@ public class MSRCPSPIO {
     /**
      * Creates an array of skills from parts containing types and levels.
      *
-     * @param skills array of skills to fill
-     * @param parts  line readDefinition from the file containing types and levels of skills
+     * @param skills       array of skills to fill
+     * @param parts        line readDefinition from the file containing types and levels of skills
+     * @param skillTypeIds ids of skill types interned so far
      * @return array of skills
      */
-    private Skill[] readSkills(Skill[] skills, String[] parts) {
+    private Skill[] readSkills(Skill[] skills, String[] parts, Map<String, Integer> skillTypeIds) {
         String type;
         for (int i = 0; i < skills.length; ++i) {
             type = parts[2 + (i * 2)];
-            skills[i] = new Skill(type.substring(0, type.length() - 1),
-                    Integer.parseInt(parts[3 + (i * 2)]));
+            skills[i] = readSkill(type, parts[3 + (i * 2)], skillTypeIds);
         }
 
         return skills;
     }
 
+    /**
+     * Creates a skill, interning its type.
+     *
+     * @param type         type of the skill followed by a colon, e.g. "Q7:"
+     * @param level        level of the skill
+     * @param skillTypeIds ids of skill types interned so far
+     * @return skill with an interned type id
+     */
+    private Skill readSkill(String type, String level, Map<String, Integer> skillTypeIds) {
+        type = type.substring(0, type.length() - 1);
+        Integer typeId = skillTypeIds.get(type);
+        if (null == typeId) {
+            typeId = skillTypeIds.size();
+            skillTypeIds.put(type, typeId);
+        }
+        return new Skill(type, typeId, Integer.parseInt(level));
+    }
+
     /**
      * Reads tasks from the file.
      *
-     * @param reader   used reader
-     * @param numTasks number of tasks
+     * @param reader       used reader
+     * @param numTasks     number of tasks
+     * @param skillTypeIds ids of skill types interned so far
      * @return array of tasks
      * @throws IOException when file is in the wrong format
      */
-    private Task[] readTasks(BufferedReader reader, int numTasks) throws IOException {
+    private Task[] readTasks(BufferedReader reader, int numTasks,
+                             Map<String, Integer> skillTypeIds) throws IOException {
         Task[] tasks = new Task[numTasks];
         String line;
         String[] parts;
@@ -153,7 +181,7 @@ public class MSRCPSPIO {
             parts = line.split("\\s+");
             id = Integer.parseInt(parts[0]);
             duration = Integer.parseInt(parts[1]);
-            skill = new Skill(parts[2].substring(0, parts[2].length() - 1), Integer.parseInt(parts[3]));
+            skill = readSkill(parts[2], parts[3], skillTypeIds);
             predecessors = new int[parts.length - 4];
             predecessors = readPredecessors(predecessors, parts);
 
@@ -24,6 +24,15 @@ public class BaseIndividual implements Comparable<BaseIndividual> {
         this.setEvalValue(-1);
     }
 
+    /**
+     * Creates an individual without a schedule of its own. Used by
+     * representations, which are decoded into a schedule only
+     * when evaluated.
+     */
+    protected BaseIndividual() {
+        this.setEvalValue(-1);
+    }
+
     /**
      * Sets duration and cost calculated by the evaluator
      */
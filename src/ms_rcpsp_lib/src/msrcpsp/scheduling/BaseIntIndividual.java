@@ -18,6 +18,18 @@ public class BaseIntIndividual extends BaseIndividual {
         System.arraycopy(genes, 0, this.genes, 0, genes.length);
     }
 
+    /**
+     * Creates a compact individual consisting of genes only. Genes are
+     * not copied and no schedule is created - decoding them is left to
+     * the algorithm using the individual.
+     *
+     * @param genes genes of the individual
+     */
+    public BaseIntIndividual(int[] genes) {
+        super();
+        this.genes = genes;
+    }
+
     public int[] getGenes() {
         return genes;
     }
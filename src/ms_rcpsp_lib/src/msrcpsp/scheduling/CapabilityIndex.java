@@ -0,0 +1,252 @@
+package ms_rcpsp_lib.src.msrcpsp.scheduling;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable index of which resources can do which tasks. Reads only ids,
+ * skills and salaries, not precedence relations, so it can be built for
+ * any definition - even one with broken precedences, which cannot be
+ * compiled into a <code>ProblemInstance</code>. Tasks and resources are
+ * indexed by their position in the arrays the index was built from.
+ * <p>
+ * Arrays returned by the getters are shared and must not be modified.
+ */
+public class CapabilityIndex {
+
+    private final int[] taskIds;
+    private final int[] taskIndexes;
+    private final int[] requiredSkillTypes;
+    private final int[] requiredSkillLevels;
+
+    private final int[] resourceIds;
+    private final int[] resourceIndexes;
+    private final double[] salaries;
+
+    /**
+     * Indexes of resources capable of doing each task, sorted by salary.
+     * Resources with equal salaries keep their order.
+     */
+    private final int[][] capableResources;
+    /**
+     * Task x resource capability matrix, <code>capabilityWords</code>
+     * words per task.
+     */
+    private final long[] capabilities;
+    private final int capabilityWords;
+
+    /**
+     * Builds the index of given tasks and resources. Skill type ids
+     * interned while reading the definition are kept, otherwise types
+     * are interned here.
+     *
+     * @param tasks     tasks of the project
+     * @param resources resources of the project
+     */
+    public CapabilityIndex(Task[] tasks, Resource[] resources) {
+        boolean interned = areSkillTypesInterned(tasks, resources);
+        Map<String, Integer> skillTypes = new HashMap<>();
+        int skillTypeCount = 0;
+
+        taskIds = new int[tasks.length];
+        requiredSkillTypes = new int[tasks.length];
+        requiredSkillLevels = new int[tasks.length];
+        for (int i = 0; i < tasks.length; ++i) {
+            taskIds[i] = tasks[i].getId();
+            requiredSkillTypes[i] = getSkillType(skillTypes, interned, tasks[i].getRequiredSkills());
+            requiredSkillLevels[i] = tasks[i].getRequiredSkills().getLevel();
+            skillTypeCount = Math.max(skillTypeCount, requiredSkillTypes[i] + 1);
+        }
+        for (Resource r : resources) {
+            for (Skill skill : r.getSkills()) {
+                skillTypeCount = Math.max(skillTypeCount, getSkillType(skillTypes, interned, skill) + 1);
+            }
+        }
+        taskIndexes = indexIds(taskIds);
+
+        resourceIds = new int[resources.length];
+        salaries = new double[resources.length];
+        // level of each skill type for each resource, -1 if resource does not have a skill of given type
+        int[][] skillLevels = new int[resources.length][];
+        for (int i = 0; i < resources.length; ++i) {
+            resourceIds[i] = resources[i].getId();
+            salaries[i] = resources[i].getSalary();
+            skillLevels[i] = new int[skillTypeCount];
+            Arrays.fill(skillLevels[i], -1);
+            for (Skill skill : resources[i].getSkills()) {
+                int type = getSkillType(skillTypes, interned, skill);
+                skillLevels[i][type] = Math.max(skillLevels[i][type], skill.getLevel());
+            }
+        }
+        resourceIndexes = indexIds(resourceIds);
+
+        capabilityWords = (resources.length + 63) >>> 6;
+        capabilities = new long[tasks.length * capabilityWords];
+        capableResources = new int[tasks.length][];
+        for (int i = 0; i < tasks.length; ++i) {
+            capableResources[i] = findCapableResources(i, skillLevels);
+        }
+    }
+
+    /**
+     * Finds resources capable of doing a task, marks them in the
+     * capability matrix and sorts them by salary.
+     *
+     * @param taskIndex   index of the task
+     * @param skillLevels level of each skill type for each resource
+     * @return indexes of capable resources sorted by salary
+     */
+    private int[] findCapableResources(int taskIndex, int[][] skillLevels) {
+        Integer[] capable = new Integer[resourceIds.length];
+        int count = 0;
+        for (int r = 0; r < resourceIds.length; ++r) {
+            if (skillLevels[r][requiredSkillTypes[taskIndex]] >= requiredSkillLevels[taskIndex]) {
+                capabilities[taskIndex * capabilityWords + (r >>> 6)] |= 1L << r;
+                capable[count++] = r;
+            }
+        }
+        // stable sort, so the cheapest resource is the first cheapest one in the schedule
+        Arrays.sort(capable, 0, count, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer r1, Integer r2) {
+                return Double.compare(salaries[r1], salaries[r2]);
+            }
+        });
+        int[] result = new int[count];
+        for (int i = 0; i < count; ++i) {
+            result[i] = capable[i];
+        }
+        return result;
+    }
+
+    /**
+     * Creates a dense table mapping ids to their positions in <code>ids</code>.
+     *
+     * @param ids non negative ids
+     * @return table with position of each id, -1 for missing ids
+     */
+    private static int[] indexIds(int[] ids) {
+        int maxId = -1;
+        for (int id : ids) {
+            maxId = Math.max(maxId, id);
+        }
+        int[] indexes = new int[maxId + 1];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < ids.length; ++i) {
+            indexes[ids[i]] = i;
+        }
+        return indexes;
+    }
+
+    private static boolean areSkillTypesInterned(Task[] tasks, Resource[] resources) {
+        for (Task t : tasks) {
+            if (t.getRequiredSkills().getTypeId() < 0) {
+                return false;
+            }
+        }
+        for (Resource r : resources) {
+            for (Skill skill : r.getSkills()) {
+                if (skill.getTypeId() < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int getSkillType(Map<String, Integer> skillTypes, boolean interned, Skill skill) {
+        if (interned) {
+            return skill.getTypeId();
+        }
+        Integer type = skillTypes.get(skill.getType());
+        if (null == type) {
+            type = skillTypes.size();
+            skillTypes.put(skill.getType(), type);
+        }
+        return type;
+    }
+
+    /**
+     * Checks whether resource can do given task.
+     *
+     * @param taskIndex     index of the task
+     * @param resourceIndex index of the resource
+     * @return true if the resource has skill required by the task
+     * at no lower than required level
+     */
+    public boolean canDoTask(int taskIndex, int resourceIndex) {
+        return (capabilities[taskIndex * capabilityWords + (resourceIndex >>> 6)] & (1L << resourceIndex)) != 0;
+    }
+
+    /**
+     * Gets resources capable of doing a task.
+     *
+     * @param taskIndex index of the task
+     * @return indexes of the capable resources, sorted by salary
+     */
+    public int[] getCapableResources(int taskIndex) {
+        return capableResources[taskIndex];
+    }
+
+    public int getTaskCount() {
+        return taskIds.length;
+    }
+
+    public int getResourceCount() {
+        return resourceIds.length;
+    }
+
+    /**
+     * Gets index of a task with given id.
+     *
+     * @param taskId task id
+     * @return index of the task or -1 if such task does not exist
+     */
+    public int getTaskIndex(int taskId) {
+        return taskId >= 0 && taskId < taskIndexes.length ? taskIndexes[taskId] : -1;
+    }
+
+    /**
+     * Gets index of a resource with given id.
+     *
+     * @param resourceId resource id
+     * @return index of the resource or -1 if such resource does not exist
+     */
+    public int getResourceIndex(int resourceId) {
+        return resourceId >= 0 && resourceId < resourceIndexes.length ? resourceIndexes[resourceId] : -1;
+    }
+
+    public int getResourceId(int resourceIndex) {
+        return resourceIds[resourceIndex];
+    }
+
+    int[] getTaskIds() {
+        return taskIds;
+    }
+
+    int[] getTaskIndexes() {
+        return taskIndexes;
+    }
+
+    int[] getRequiredSkillTypes() {
+        return requiredSkillTypes;
+    }
+
+    int[] getRequiredSkillLevels() {
+        return requiredSkillLevels;
+    }
+
+    int[] getResourceIds() {
+        return resourceIds;
+    }
+
+    int[] getResourceIndexes() {
+        return resourceIndexes;
+    }
+
+    double[] getSalaries() {
+        return salaries;
+    }
+}
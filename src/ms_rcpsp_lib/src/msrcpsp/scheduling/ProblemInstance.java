@@ -0,0 +1,388 @@
+package ms_rcpsp_lib.src.msrcpsp.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, compiled definition of a project. Stores everything that does
+ * not change between solutions - durations, precedence relations, skill
+ * requirements and salaries - in dense primitive arrays indexed by position
+ * of a task or a resource in the schedule it was compiled from.
+ * <p>
+ * Solutions of the instance are kept in <code>SolutionState</code> objects.
+ * Arrays returned by the getters are shared and must not be modified.
+ */
+public class ProblemInstance {
+
+    private final int[] taskIds;
+    private final int[] taskIndexes;
+    private final int[] durations;
+    /**
+     * Precedence relations in compressed sparse row form - predecessors
+     * of task <code>i</code> are <code>predecessors[predecessorOffsets[i]]</code>
+     * up to <code>predecessors[predecessorOffsets[i + 1] - 1]</code>.
+     * Successors are stored the same way.
+     */
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+    private final int[] successorOffsets;
+    private final int[] successors;
+    /**
+     * Order of tasks in which every task follows all of its predecessors.
+     */
+    private final int[] topologicalOrder;
+    /**
+     * Position of every task in <code>topologicalOrder</code>.
+     */
+    private final int[] topologicalPositions;
+    /**
+     * Critical path bounds of every task, regardless of resources - head
+     * is the longest chain of predecessors before the task starts, tail
+     * is the longest chain of successors after the task finishes.
+     */
+    private final int[] heads;
+    private final int[] tails;
+    private final int criticalPathLength;
+    private final int[] requiredSkillTypes;
+    private final int[] requiredSkillLevels;
+
+    private final int[] resourceIds;
+    private final int[] resourceIndexes;
+    private final double[] salaries;
+
+    /**
+     * Capabilities of resources, sharing ids, skills and salaries
+     * with this instance.
+     */
+    private final CapabilityIndex capabilityIndex;
+
+    /**
+     * Compiles given schedule. Only the project definition is read,
+     * assignments and timestamps are ignored. Skill type ids interned
+     * while reading the definition are kept, otherwise types are
+     * interned here.
+     *
+     * @param schedule schedule to compile
+     * @throws IllegalArgumentException if a task has an unknown predecessor
+     *                                  or precedence relations have a cycle
+     */
+    public ProblemInstance(Schedule schedule) {
+        this(schedule, new CapabilityIndex(schedule.getTasks(), schedule.getResources()));
+    }
+
+    /**
+     * Compiles given schedule reusing capabilities already indexed for it.
+     *
+     * @param schedule        schedule to compile
+     * @param capabilityIndex index built from tasks and resources of the schedule
+     */
+    ProblemInstance(Schedule schedule, CapabilityIndex capabilityIndex) {
+        Task[] tasks = schedule.getTasks();
+        this.capabilityIndex = capabilityIndex;
+        taskIds = capabilityIndex.getTaskIds();
+        taskIndexes = capabilityIndex.getTaskIndexes();
+        requiredSkillTypes = capabilityIndex.getRequiredSkillTypes();
+        requiredSkillLevels = capabilityIndex.getRequiredSkillLevels();
+        resourceIds = capabilityIndex.getResourceIds();
+        resourceIndexes = capabilityIndex.getResourceIndexes();
+        salaries = capabilityIndex.getSalaries();
+
+        durations = new int[tasks.length];
+        for (int i = 0; i < tasks.length; ++i) {
+            durations[i] = tasks[i].getDuration();
+        }
+
+        predecessorOffsets = new int[tasks.length + 1];
+        for (int i = 0; i < tasks.length; ++i) {
+            predecessorOffsets[i + 1] = predecessorOffsets[i] + tasks[i].getPredecessors().length;
+        }
+        predecessors = new int[predecessorOffsets[tasks.length]];
+        successorOffsets = new int[tasks.length + 1];
+        for (int i = 0; i < tasks.length; ++i) {
+            int[] predecessorIds = tasks[i].getPredecessors();
+            for (int j = 0; j < predecessorIds.length; ++j) {
+                int predecessor = getTaskIndex(predecessorIds[j]);
+                if (-1 == predecessor) {
+                    throw new IllegalArgumentException("Task " + taskIds[i]
+                            + " has unknown predecessor " + predecessorIds[j]);
+                }
+                predecessors[predecessorOffsets[i] + j] = predecessor;
+                ++successorOffsets[predecessor + 1];
+            }
+        }
+        for (int i = 0; i < tasks.length; ++i) {
+            successorOffsets[i + 1] += successorOffsets[i];
+        }
+        successors = new int[predecessors.length];
+        int[] successorCounts = new int[tasks.length];
+        for (int i = 0; i < tasks.length; ++i) {
+            for (int j = predecessorOffsets[i]; j < predecessorOffsets[i + 1]; ++j) {
+                int predecessor = predecessors[j];
+                successors[successorOffsets[predecessor] + successorCounts[predecessor]++] = i;
+            }
+        }
+        topologicalOrder = buildTopologicalOrder();
+        topologicalPositions = new int[tasks.length];
+        for (int i = 0; i < topologicalOrder.length; ++i) {
+            topologicalPositions[topologicalOrder[i]] = i;
+        }
+        heads = new int[tasks.length];
+        tails = new int[tasks.length];
+        int pathLength = 0;
+        for (int taskIndex : topologicalOrder) {
+            for (int p = predecessorOffsets[taskIndex]; p < predecessorOffsets[taskIndex + 1]; ++p) {
+                heads[taskIndex] = Math.max(heads[taskIndex], heads[predecessors[p]] + durations[predecessors[p]]);
+            }
+        }
+        for (int i = topologicalOrder.length - 1; i >= 0; --i) {
+            int taskIndex = topologicalOrder[i];
+            for (int s = successorOffsets[taskIndex]; s < successorOffsets[taskIndex + 1]; ++s) {
+                tails[taskIndex] = Math.max(tails[taskIndex], durations[successors[s]] + tails[successors[s]]);
+            }
+            pathLength = Math.max(pathLength, heads[taskIndex] + durations[taskIndex] + tails[taskIndex]);
+        }
+        criticalPathLength = pathLength;
+    }
+
+    /**
+     * Orders tasks, so every task follows its predecessors. Tasks with
+     * successors go first and then the rest of the tasks, both in order
+     * of the schedule, but each task is preceded by its predecessors, that
+     * were not placed yet. Runs in time linear in the number of tasks
+     * and precedence relations.
+     *
+     * @return topological order of the tasks
+     * @throws IllegalArgumentException if precedence relations have a cycle
+     */
+    private int[] buildTopologicalOrder() {
+        int taskCount = taskIds.length;
+        int[] order = new int[taskCount];
+        int placed = 0;
+        // 0 - not visited, 1 - waiting for predecessors, 2 - placed
+        byte[] states = new byte[taskCount];
+        int[] stack = new int[taskCount];
+        int[] nextPredecessor = new int[taskCount];
+        for (int pass = 0; pass < 2; ++pass) {
+            for (int root = 0; root < taskCount; ++root) {
+                if (states[root] != 0 || hasSuccessors(root) != (pass == 0)) {
+                    continue;
+                }
+                int depth = 0;
+                stack[depth++] = root;
+                states[root] = 1;
+                nextPredecessor[root] = predecessorOffsets[root];
+                while (depth > 0) {
+                    int task = stack[depth - 1];
+                    if (nextPredecessor[task] < predecessorOffsets[task + 1]) {
+                        int predecessor = predecessors[nextPredecessor[task]++];
+                        if (states[predecessor] == 1) {
+                            throw new IllegalArgumentException("Precedence relations have a cycle at task "
+                                    + taskIds[predecessor]);
+                        }
+                        if (states[predecessor] == 0) {
+                            states[predecessor] = 1;
+                            nextPredecessor[predecessor] = predecessorOffsets[predecessor];
+                            stack[depth++] = predecessor;
+                        }
+                    } else {
+                        states[task] = 2;
+                        order[placed++] = task;
+                        --depth;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Checks whether resource can do given task.
+     *
+     * @param taskIndex     index of the task
+     * @param resourceIndex index of the resource
+     * @return true if the resource has skill required by the task
+     * at no lower than required level
+     */
+    public boolean canDoTask(int taskIndex, int resourceIndex) {
+        return capabilityIndex.canDoTask(taskIndex, resourceIndex);
+    }
+
+    /**
+     * Gets resources capable of doing a task.
+     *
+     * @param taskIndex index of the task
+     * @return indexes of the capable resources, sorted by salary
+     */
+    public int[] getCapableResources(int taskIndex) {
+        return capabilityIndex.getCapableResources(taskIndex);
+    }
+
+    public int getTaskCount() {
+        return taskIds.length;
+    }
+
+    public int getResourceCount() {
+        return resourceIds.length;
+    }
+
+    public int getTaskId(int taskIndex) {
+        return taskIds[taskIndex];
+    }
+
+    /**
+     * Gets index of a task with given id.
+     *
+     * @param taskId task id
+     * @return index of the task or -1 if such task does not exist
+     */
+    public int getTaskIndex(int taskId) {
+        return taskId >= 0 && taskId < taskIndexes.length ? taskIndexes[taskId] : -1;
+    }
+
+    public int getDuration(int taskIndex) {
+        return durations[taskIndex];
+    }
+
+    public int[] getDurations() {
+        return durations;
+    }
+
+    /**
+     * Gets predecessors of a task. Allocates a new array, decoders
+     * should use the compressed arrays instead.
+     *
+     * @param taskIndex index of the task
+     * @return indexes of the predecessors
+     */
+    public int[] getPredecessors(int taskIndex) {
+        return Arrays.copyOfRange(predecessors, predecessorOffsets[taskIndex], predecessorOffsets[taskIndex + 1]);
+    }
+
+    /**
+     * Gets successors of a task. Allocates a new array, decoders
+     * should use the compressed arrays instead.
+     *
+     * @param taskIndex index of the task
+     * @return indexes of the successors
+     */
+    public int[] getSuccessors(int taskIndex) {
+        return Arrays.copyOfRange(successors, successorOffsets[taskIndex], successorOffsets[taskIndex + 1]);
+    }
+
+    public boolean hasSuccessors(int taskIndex) {
+        return successorOffsets[taskIndex + 1] > successorOffsets[taskIndex];
+    }
+
+    public int[] getPredecessorOffsets() {
+        return predecessorOffsets;
+    }
+
+    /**
+     * @return predecessors of all tasks, see <code>getPredecessorOffsets()</code>
+     */
+    public int[] getPredecessorIndexes() {
+        return predecessors;
+    }
+
+    public int[] getSuccessorOffsets() {
+        return successorOffsets;
+    }
+
+    /**
+     * @return successors of all tasks, see <code>getSuccessorOffsets()</code>
+     */
+    public int[] getSuccessorIndexes() {
+        return successors;
+    }
+
+    /**
+     * @return indexes of tasks ordered so every task follows its predecessors
+     */
+    public int[] getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    /**
+     * @return position of every task in <code>getTopologicalOrder()</code>
+     */
+    public int[] getTopologicalPositions() {
+        return topologicalPositions;
+    }
+
+    /**
+     * @return earliest start of every task allowed by its predecessors
+     */
+    public int[] getHeads() {
+        return heads;
+    }
+
+    /**
+     * @return time every task needs after its finish to complete its successors
+     */
+    public int[] getTails() {
+        return tails;
+    }
+
+    /**
+     * @return length of the longest chain of tasks, which no schedule can be shorter than
+     */
+    public int getCriticalPathLength() {
+        return criticalPathLength;
+    }
+
+    /**
+     * Checks whether an activity list contains every task exactly once
+     * and every task follows its predecessors.
+     *
+     * @param activityList indexes of tasks
+     * @return true if the list can be decoded by serial schedule generation
+     */
+    public boolean isPrecedenceFeasible(int[] activityList) {
+        if (activityList.length != getTaskCount()) {
+            return false;
+        }
+        boolean[] placed = new boolean[getTaskCount()];
+        for (int taskIndex : activityList) {
+            if (taskIndex < 0 || taskIndex >= placed.length || placed[taskIndex]) {
+                return false;
+            }
+            for (int p = predecessorOffsets[taskIndex]; p < predecessorOffsets[taskIndex + 1]; ++p) {
+                if (!placed[predecessors[p]]) {
+                    return false;
+                }
+            }
+            placed[taskIndex] = true;
+        }
+        return true;
+    }
+
+    public int getRequiredSkillType(int taskIndex) {
+        return requiredSkillTypes[taskIndex];
+    }
+
+    public int getRequiredSkillLevel(int taskIndex) {
+        return requiredSkillLevels[taskIndex];
+    }
+
+    public int getResourceId(int resourceIndex) {
+        return resourceIds[resourceIndex];
+    }
+
+    /**
+     * Gets index of a resource with given id.
+     *
+     * @param resourceId resource id
+     * @return index of the resource or -1 if such resource does not exist
+     */
+    public int getResourceIndex(int resourceId) {
+        return resourceId >= 0 && resourceId < resourceIndexes.length ? resourceIndexes[resourceId] : -1;
+    }
+
+    public double getSalary(int resourceIndex) {
+        return salaries[resourceIndex];
+    }
+
+    public double[] getSalaries() {
+        return salaries;
+    }
+
+}
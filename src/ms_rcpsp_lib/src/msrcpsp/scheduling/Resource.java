@@ -7,6 +7,11 @@ import java.util.Arrays;
  * required skill at no lower than required level. It is also defined by salary.
  * To make design easier, resource is also described by finish field - the time
  * when resource finished its last assigned task.
+ * <p>
+ * When all skills have interned type ids, levels of the skills are also
+ * kept in an array indexed by the type id, so checking a skill does
+ * not compare the types. Interned skills cannot be modified, so the array
+ * stays up to date as long as skills are replaced with <code>setSkills</code>.
  */
 public class Resource implements Cloneable
 {
@@ -14,12 +19,17 @@ public class Resource implements Cloneable
     private int id;
     private double salary;
     private Skill[] skills;
+    /**
+     * Level of each skill by its type id, -1 for missing skills.
+     * Null if types of the skills are not interned.
+     */
+    private int[] skillLevels;
     private int finish;
 
     public Resource(int id, double salary, Skill[] skills, int finish) {
         this.id = id;
         this.salary = salary;
-        this.skills = skills;
+        setSkills(skills);
         this.finish = finish;
     }
 
@@ -30,7 +40,33 @@ public class Resource implements Cloneable
     public Resource(int id, double salary, Skill[] skills) {
         this.id = id;
         this.salary = salary;
-        this.skills = skills;
+        setSkills(skills);
+    }
+
+    /**
+     * Creates array of skill levels indexed by type ids.
+     *
+     * @param skills skills to index
+     * @return levels of the skills or null if any of them does not have
+     * an interned type
+     */
+    private static int[] buildSkillLevels(Skill[] skills) {
+        if (null == skills) {
+            return null;
+        }
+        int maxTypeId = -1;
+        for (Skill s : skills) {
+            if (s.getTypeId() < 0) {
+                return null;
+            }
+            maxTypeId = Math.max(maxTypeId, s.getTypeId());
+        }
+        int[] levels = new int[maxTypeId + 1];
+        Arrays.fill(levels, -1);
+        for (Skill s : skills) {
+            levels[s.getTypeId()] = Math.max(levels[s.getTypeId()], s.getLevel());
+        }
+        return levels;
     }
 
     /**
@@ -40,6 +76,10 @@ public class Resource implements Cloneable
      * @return true if resource has a skill, false otherwise
      */
     public boolean hasSkill(Skill skill) {
+        int typeId = skill.getTypeId();
+        if (null != skillLevels && typeId >= 0) {
+            return typeId < skillLevels.length && skillLevels[typeId] >= skill.getLevel();
+        }
         for (Skill s : skills) {
             if (s.getType().equals(skill.getType()) &&
                     s.getLevel() >= skill.getLevel()) {
@@ -71,6 +111,7 @@ public class Resource implements Cloneable
 
     public void setSkills(Skill[] skills) {
         this.skills = skills;
+        this.skillLevels = buildSkillLevels(skills);
     }
 
     public int getFinish() {
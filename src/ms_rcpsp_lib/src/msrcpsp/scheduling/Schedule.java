@@ -14,6 +14,28 @@ public class Schedule {
     private Task[] tasks;
     private Resource[] resources;
 
+    /**
+     * Dense tables mapping ids to indexes in <code>tasks</code> and
+     * <code>resources</code>. Built on first use and rebuilt when
+     * the arrays get reordered (e.g. sorted by start time). Arrays
+     * replaced with different tasks or resources have to be set
+     * with the setters.
+     */
+    private int[] taskIndexes;
+    private int[] resourceIndexes;
+
+    /**
+     * Compiled project definition and index of capabilities, built on first
+     * use and shared with copies. Capabilities are indexed separately, as
+     * they do not depend on precedence relations, so they can be checked
+     * even if the definition cannot be compiled. Capable resources of each
+     * task (indexed as in the index) are kept as lists of resources of
+     * this schedule, so copies build their own.
+     */
+    private ProblemInstance instance;
+    private CapabilityIndex capabilityIndex;
+    private List<Resource>[] capableResources;
+
     /**
      * Allows to have different evaluator method for different schedules.
      */
@@ -56,6 +78,11 @@ public class Schedule {
         for (Resource r : resources) {
             r.setFinish(schedule.getResource(r.getId()).getFinish());
         }
+        // copies keep the order of the original, so they can share its (never modified) tables
+        taskIndexes = schedule.taskIndexes;
+        resourceIndexes = schedule.resourceIndexes;
+        instance = schedule.instance;
+        capabilityIndex = schedule.capabilityIndex;
     }
 
     /**
@@ -66,8 +93,9 @@ public class Schedule {
      */
     public int[] getUpperBounds(int numTasks) {
         int[] upperBounds = new int[numTasks];
+        CapabilityIndex capabilityIndex = getCapabilityIndex();
         for (int i = 0; i < numTasks; ++i) {
-            upperBounds[i] = this.getCapableResources(this.getTasks()[i]).size();
+            upperBounds[i] = capabilityIndex.getCapableResources(capabilityIndex.getTaskIndex(tasks[i].getId())).length;
         }
         return upperBounds;
     }
@@ -142,10 +170,25 @@ public class Schedule {
 
     /**
      * For each task, sets its resource id to the corresponding capable resource.
+     * Resource id of a task is read as a position (counted from 1) among
+     * resources capable of doing it in the order of the schedule - not
+     * in the order of salary, which <code>getCapableResources(Task)</code> uses.
      */
     public void buildTaskResourceAssignments() {
         for (Task task : this.getTasks()) {
-            task.setResourceId(this.getCapableResources(task).get(task.getResourceId() - 1).getId());
+            int position = task.getResourceId() - 1;
+            Resource assigned = null;
+            for (Resource r : resources) {
+                if (canDoTask(task, r) && position-- == 0) {
+                    assigned = r;
+                    break;
+                }
+            }
+            if (null == assigned) {
+                throw new IndexOutOfBoundsException("Task " + task.getId() + " has no capable resource at position "
+                        + task.getResourceId());
+            }
+            task.setResourceId(assigned.getId());
         }
     }
 
@@ -156,33 +199,89 @@ public class Schedule {
     public boolean[] getSuccesors() {
         Task[] tasks = this.getTasks();
         boolean[] hasSuccesors = new boolean[tasks.length];
-        Task predecessorTask;
-        int tempId;
         for (Task task : tasks) {
             for (int predecessor : task.getPredecessors()) {
-                predecessorTask = this.getTask(predecessor);
-                tempId = getTaskIndex(predecessorTask);
-                hasSuccesors[tempId] = true;
+                hasSuccesors[getTaskIndex(predecessor)] = true;
             }
         }
         return hasSuccesors;
     }
 
     /**
-     * Finds index in the array of a given task.
+     * Finds index of a task with given id in the array of tasks
+     * in constant time.
+     *
+     * @param taskId task id
+     * @return index of the task or -1 if such task does not exist
+     */
+    public int getTaskIndex(int taskId) {
+        int index = lookUpIndex(taskIndexes, taskId);
+        if (null == taskIndexes || (-1 != index && (null == tasks[index] || tasks[index].getId() != taskId))) {
+            taskIndexes = indexTasks(tasks);
+            index = lookUpIndex(taskIndexes, taskId);
+        }
+        return index;
+    }
+
+    /**
+     * Finds index of a resource with given id in the array of resources
+     * in constant time.
+     *
+     * @param resourceId resource id
+     * @return index of the resource or -1 if such resource does not exist
+     */
+    public int getResourceIndex(int resourceId) {
+        int index = lookUpIndex(resourceIndexes, resourceId);
+        if (null == resourceIndexes || (-1 != index && (null == resources[index] || resources[index].getId() != resourceId))) {
+            resourceIndexes = indexResources(resources);
+            index = lookUpIndex(resourceIndexes, resourceId);
+        }
+        return index;
+    }
+
+    private static int lookUpIndex(int[] indexes, int id) {
+        if (null == indexes || id < 0 || id >= indexes.length) {
+            return -1;
+        }
+        return indexes[id];
+    }
+
+    private static int[] indexTasks(Task[] tasks) {
+        int[] ids = new int[tasks.length];
+        for (int i = 0; i < tasks.length; ++i) {
+            ids[i] = null == tasks[i] ? -1 : tasks[i].getId();
+        }
+        return indexIds(ids);
+    }
+
+    private static int[] indexResources(Resource[] resources) {
+        int[] ids = new int[resources.length];
+        for (int i = 0; i < resources.length; ++i) {
+            ids[i] = null == resources[i] ? -1 : resources[i].getId();
+        }
+        return indexIds(ids);
+    }
+
+    /**
+     * Creates a dense table mapping ids to their positions in <code>ids</code>.
+     * Negative ids are skipped.
      *
-     * @param task task to look for
-     * @return index of the <code>task</code>
+     * @param ids ids to index
+     * @return table with position of each id, -1 for missing ids
      */
-    private int getTaskIndex(Task task) {
-        int index = 0;
-        for (Task t : this.getTasks()) {
-            if (t.getId() == task.getId()) {
-                return index;
+    private static int[] indexIds(int[] ids) {
+        int maxId = -1;
+        for (int id : ids) {
+            maxId = Math.max(maxId, id);
+        }
+        int[] indexes = new int[maxId + 1];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < ids.length; ++i) {
+            if (ids[i] >= 0) {
+                indexes[ids[i]] = i;
             }
-            ++index;
         }
-        return -1;
+        return indexes;
     }
 
     /**
@@ -226,12 +325,8 @@ public class Schedule {
      * does not exist.
      */
     public Task getTask(int taskId) {
-        for (Task t : tasks) {
-            if (t.getId() == taskId) {
-                return t;
-            }
-        }
-        return null;
+        int index = getTaskIndex(taskId);
+        return -1 == index ? null : tasks[index];
     }
 
     /**
@@ -242,28 +337,44 @@ public class Schedule {
      * does not exist.
      */
     public Resource getResource(int resourceId) {
-        for (Resource r : resources) {
-            if (r.getId() == resourceId) {
-                return r;
-            }
-        }
-        return null;
+        int index = getResourceIndex(resourceId);
+        return -1 == index ? null : resources[index];
     }
 
     /**
      * Finds all resources capable of doing given task.
      *
      * @param t given task, for which we find capable resources
-     * @return list of resources capable of doing task <code>t</code>
+     * @return unmodifiable list of resources capable of doing task <code>t</code>,
+     * sorted by salary, resources with equal salaries in the order of the schedule.
+     * Random access, built once per task.
      */
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public List<Resource> getCapableResources(Task t) {
-        List<Resource> result = new LinkedList<>();
-        for (Resource r : resources) {
-            if (canDoTask(t, r)) {
-                result.add(r);
+        CapabilityIndex capabilityIndex = getCapabilityIndex();
+        int taskIndex = capabilityIndex.getTaskIndex(t.getId());
+        if (-1 == taskIndex) {
+            List<Resource> result = new ArrayList<>();
+            for (Resource r : resources) {
+                if (canDoTask(t, r)) {
+                    result.add(r);
+                }
             }
+            result.sort(Comparator.comparingDouble(Resource::getSalary));
+            return Collections.unmodifiableList(result);
         }
-        return result;
+        if (null == capableResources) {
+            capableResources = new List[capabilityIndex.getTaskCount()];
+        }
+        if (null == capableResources[taskIndex]) {
+            int[] capable = capabilityIndex.getCapableResources(taskIndex);
+            Resource[] result = new Resource[capable.length];
+            for (int i = 0; i < capable.length; ++i) {
+                result[i] = getResource(capabilityIndex.getResourceId(capable[i]));
+            }
+            capableResources[taskIndex] = Collections.unmodifiableList(Arrays.asList(result));
+        }
+        return capableResources[taskIndex];
     }
 
     /**
@@ -395,7 +506,13 @@ public class Schedule {
         if (null == r) {
             return false;
         }
-        return r.hasSkill(t.getRequiredSkills());
+        CapabilityIndex capabilityIndex = getCapabilityIndex();
+        int taskIndex = capabilityIndex.getTaskIndex(t.getId());
+        int resourceIndex = capabilityIndex.getResourceIndex(r.getId());
+        if (-1 == taskIndex || -1 == resourceIndex) {
+            return r.hasSkill(t.getRequiredSkills());
+        }
+        return capabilityIndex.canDoTask(taskIndex, resourceIndex);
     }
 
     /**
@@ -414,12 +531,56 @@ public class Schedule {
         return num;
     }
 
+    /**
+     * Gets the compiled definition of the project, compiling it
+     * on the first call. Has to be called only when all tasks
+     * and resources are set. The instance, and capabilities checked by
+     * this schedule, are not updated when the definition changes, so
+     * after the first call these must not be modified, unless tasks
+     * or resources are set again:
+     * <ul>
+     * <li>ids, durations, predecessors and required skills of tasks,</li>
+     * <li>ids, salaries and skills of resources,</li>
+     * <li>types and levels of skills with types not interned - interned
+     * ones cannot be modified.</li>
+     * </ul>
+     *
+     * @return instance compiled from this schedule
+     * @throws IllegalArgumentException if a task has an unknown predecessor
+     *                                  or precedence relations have a cycle
+     */
+    public ProblemInstance getInstance() {
+        if (null == instance) {
+            instance = new ProblemInstance(this, getCapabilityIndex());
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the index of capabilities, building it on the first call.
+     * Does not read precedence relations, so it works even if they
+     * are broken. The same parts of the definition as for
+     * <code>getInstance()</code> must not be modified afterwards.
+     *
+     * @return index of capabilities of resources of this schedule
+     */
+    private CapabilityIndex getCapabilityIndex() {
+        if (null == capabilityIndex) {
+            capabilityIndex = new CapabilityIndex(tasks, resources);
+        }
+        return capabilityIndex;
+    }
+
     public Task[] getTasks() {
         return tasks;
     }
 
     public void setTasks(Task[] tasks) {
         this.tasks = tasks;
+        this.taskIndexes = null;
+        this.instance = null;
+        this.capabilityIndex = null;
+        this.capableResources = null;
     }
 
     public Resource[] getResources() {
@@ -428,6 +589,10 @@ public class Schedule {
 
     public void setResources(Resource[] resources) {
         this.resources = resources;
+        this.resourceIndexes = null;
+        this.instance = null;
+        this.capabilityIndex = null;
+        this.capableResources = null;
     }
 
     public BaseEvaluator getEvaluator() {
@@ -4,17 +4,28 @@ package ms_rcpsp_lib.src.msrcpsp.scheduling;
  * Defines skill existing in a project. Skill is an element linking resource and
  * task. Only a resource with equal or higher skill level than required for a task
  * can be assigned to that task.
+ * <p>
+ * Types of skills read from a definition file are also interned to dense
+ * integer ids, unique within the project. Id of -1 means that the type
+ * was not interned. Interned skills are immutable, since resources and
+ * compiled instances keep levels of skills by their type ids.
  */
 public class Skill {
 
     private String type;
+    private int typeId;
     private int level;
 
-    public Skill(String type, int level) {
+    public Skill(String type, int typeId, int level) {
         this.type = type;
+        this.typeId = typeId;
         this.level = level;
     }
 
+    public Skill(String type, int level) {
+        this(type, -1, level);
+    }
+
     public Skill() {
         this("", 0);
     }
@@ -23,18 +34,42 @@ public class Skill {
         return type;
     }
 
+    /**
+     * Sets the type of the skill.
+     *
+     * @param type new type
+     * @throws IllegalStateException if the type is interned
+     */
     public void setType(String type) {
+        checkMutable();
         this.type = type;
     }
 
+    public int getTypeId() {
+        return typeId;
+    }
+
     public int getLevel() {
         return level;
     }
 
+    /**
+     * Sets the level of the skill.
+     *
+     * @param level new level
+     * @throws IllegalStateException if the type is interned
+     */
     public void setLevel(int level) {
+        checkMutable();
         this.level = level;
     }
 
+    private void checkMutable() {
+        if (typeId >= 0) {
+            throw new IllegalStateException("Skill " + this + " has an interned type, so it cannot be modified");
+        }
+    }
+
     public String toString() {
         return type + " : " + level;
     }
@@ -0,0 +1,318 @@
+package ms_rcpsp_lib.src.msrcpsp.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Solution of a <code>ProblemInstance</code> kept in primitive arrays.
+ * Stores start time and assigned resource of each task along with
+ * the finish time of each resource, all indexed the same way as
+ * in the instance. Start time and resource of -1 mean that the task
+ * is not placed in the timeline or not assigned, respectively.
+ * <p>
+ * The definition of the project is shared, so copying a solution
+ * copies its arrays only.
+ * <p>
+ * Once timestamps are built, resources reassigned with
+ * <code>assign(int, int)</code> are recorded along with the resources
+ * they replaced, so a decoder can update only the affected part
+ * of the timeline.
+ */
+public class SolutionState {
+
+    private final ProblemInstance instance;
+    private final int[] start;
+    private final int[] resource;
+    private final int[] finish;
+
+    /**
+     * True if timestamps were built for the assignments, apart from
+     * the reassignments recorded since then.
+     */
+    private boolean decoded;
+    /**
+     * Tasks reassigned since the timestamps were built and resource
+     * of each task before the first of its reassignments (-1 if the
+     * task was not reassigned). Allocated on first reassignment.
+     */
+    private int[] changedTasks;
+    private int[] previousResources;
+    private int changedCount;
+
+    /**
+     * Creates an empty solution of given instance.
+     *
+     * @param instance instance to solve
+     */
+    public SolutionState(ProblemInstance instance) {
+        this.instance = instance;
+        start = new int[instance.getTaskCount()];
+        resource = new int[instance.getTaskCount()];
+        finish = new int[instance.getResourceCount()];
+        clear(true);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param state solution to copy
+     */
+    public SolutionState(SolutionState state) {
+        this.instance = state.instance;
+        start = state.start.clone();
+        resource = state.resource.clone();
+        finish = state.finish.clone();
+        copyChangesFrom(state);
+    }
+
+    /**
+     * Reads assignments and timestamps of a schedule, which definition
+     * was compiled into <code>instance</code>.
+     *
+     * @param instance instance compiled from the schedule
+     * @param schedule schedule to read
+     */
+    public SolutionState(ProblemInstance instance, Schedule schedule) {
+        this(instance);
+        for (Task task : schedule.getTasks()) {
+            int taskIndex = instance.getTaskIndex(task.getId());
+            start[taskIndex] = task.getStart();
+            resource[taskIndex] = instance.getResourceIndex(task.getResourceId());
+        }
+        for (Resource r : schedule.getResources()) {
+            finish[instance.getResourceIndex(r.getId())] = r.getFinish();
+        }
+    }
+
+    /**
+     * Overwrites this solution with the other one.
+     *
+     * @param state solution of the same instance to copy
+     */
+    public void copyFrom(SolutionState state) {
+        System.arraycopy(state.start, 0, start, 0, start.length);
+        System.arraycopy(state.resource, 0, resource, 0, resource.length);
+        System.arraycopy(state.finish, 0, finish, 0, finish.length);
+        copyChangesFrom(state);
+    }
+
+    private void copyChangesFrom(SolutionState state) {
+        clearChanges();
+        decoded = state.decoded;
+        if (state.changedCount > 0) {
+            allocateChanges();
+            for (int i = 0; i < state.changedCount; ++i) {
+                int taskIndex = state.changedTasks[i];
+                changedTasks[i] = taskIndex;
+                previousResources[taskIndex] = state.previousResources[taskIndex];
+            }
+            changedCount = state.changedCount;
+        }
+    }
+
+    private void allocateChanges() {
+        if (null == changedTasks) {
+            changedTasks = new int[resource.length];
+            previousResources = new int[resource.length];
+            Arrays.fill(previousResources, -1);
+        }
+    }
+
+    private void clearChanges() {
+        for (int i = 0; i < changedCount; ++i) {
+            previousResources[changedTasks[i]] = -1;
+        }
+        changedCount = 0;
+    }
+
+    /**
+     * Overwrites all task - resource assignments. Timestamps have
+     * to be built from scratch afterwards.
+     *
+     * @param resources index of the resource for each task
+     */
+    public void copyAssignments(int[] resources) {
+        System.arraycopy(resources, 0, resource, 0, resource.length);
+        invalidate();
+    }
+
+    /**
+     * Marks timestamps as built for the current assignments.
+     * Used by decoders.
+     */
+    public void markDecoded() {
+        clearChanges();
+        decoded = true;
+    }
+
+    /**
+     * Marks timestamps as no longer matching the assignments, e.g.
+     * after modifying the array returned by <code>getResources()</code>.
+     */
+    public void invalidate() {
+        clearChanges();
+        decoded = false;
+    }
+
+    /**
+     * @return true if timestamps were built for the assignments, apart from
+     * the reassignments returned by <code>getChangedTasks()</code>
+     */
+    public boolean isDecoded() {
+        return decoded;
+    }
+
+    /**
+     * @return number of tasks reassigned since the timestamps were built
+     */
+    public int getChangedCount() {
+        return changedCount;
+    }
+
+    /**
+     * @return tasks reassigned since the timestamps were built,
+     * first <code>getChangedCount()</code> entries are valid
+     */
+    public int[] getChangedTasks() {
+        return changedTasks;
+    }
+
+    /**
+     * Gets resource a task was assigned to when the timestamps were built.
+     *
+     * @param taskIndex index of the task
+     * @return index of the resource
+     */
+    public int getPreviousResource(int taskIndex) {
+        if (changedCount == 0 || previousResources[taskIndex] == -1) {
+            return resource[taskIndex];
+        }
+        return previousResources[taskIndex];
+    }
+
+    /**
+     * Writes assignments and timestamps into a schedule, which definition
+     * was compiled into the instance of this solution.
+     *
+     * @param schedule schedule to fill
+     */
+    public void applyTo(Schedule schedule) {
+        for (Task task : schedule.getTasks()) {
+            int taskIndex = instance.getTaskIndex(task.getId());
+            task.setStart(start[taskIndex]);
+            task.setResourceId(-1 == resource[taskIndex] ? -1 : instance.getResourceId(resource[taskIndex]));
+        }
+        for (Resource r : schedule.getResources()) {
+            r.setFinish(finish[instance.getResourceIndex(r.getId())]);
+        }
+    }
+
+    /**
+     * Clears timestamps from tasks and resources
+     * and optionally task - resource assignments.
+     *
+     * @param withAssignments determines whether to clear assignments
+     */
+    public void clear(boolean withAssignments) {
+        Arrays.fill(start, -1);
+        if (withAssignments) {
+            Arrays.fill(resource, -1);
+        }
+        Arrays.fill(finish, -1);
+        invalidate();
+    }
+
+    /**
+     * Assigns resource to the task. Does not assign time.
+     * Does not check if the assignment violates the constraints.
+     * If timestamps are built, the reassignment is recorded.
+     *
+     * @param taskIndex     index of the task
+     * @param resourceIndex index of the resource
+     */
+    public void assign(int taskIndex, int resourceIndex) {
+        if (decoded && resource[taskIndex] != resourceIndex) {
+            allocateChanges();
+            if (previousResources[taskIndex] == -1) {
+                previousResources[taskIndex] = resource[taskIndex];
+                changedTasks[changedCount++] = taskIndex;
+            }
+        }
+        resource[taskIndex] = resourceIndex;
+    }
+
+    /**
+     * Assigns resource to the task at given time and updates finish
+     * of the resource. Does not check if the assignment violates
+     * the constraints.
+     *
+     * @param taskIndex     index of the task
+     * @param resourceIndex index of the resource
+     * @param timestamp     start time of the task
+     */
+    public void assign(int taskIndex, int resourceIndex, int timestamp) {
+        invalidate();
+        resource[taskIndex] = resourceIndex;
+        start[taskIndex] = timestamp;
+        finish[resourceIndex] = timestamp + instance.getDuration(taskIndex);
+    }
+
+    /**
+     * Gets total duration of the project, which is the latest finish
+     * date of all resources.
+     *
+     * @return total duration of the project
+     */
+    public int getDuration() {
+        int result = 0;
+        for (int f : finish) {
+            if (f > result) {
+                result = f;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets total cost of the project, which is the sum of all resources' salary
+     * times the duration of the tasks they work on.
+     *
+     * @return total cost of the project
+     */
+    public double getCost() {
+        double cost = 0;
+        for (int i = 0; i < resource.length; ++i) {
+            if (resource[i] != -1) {
+                cost += instance.getSalary(resource[i]) * instance.getDuration(i);
+            }
+        }
+        return cost;
+    }
+
+    public ProblemInstance getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return start time of each task, modifiable
+     */
+    public int[] getStarts() {
+        return start;
+    }
+
+    /**
+     * @return index of the resource assigned to each task, modifiable,
+     * but <code>invalidate()</code> has to be called after modifying it
+     * directly
+     */
+    public int[] getResources() {
+        return resource;
+    }
+
+    /**
+     * @return finish time of each resource, modifiable
+     */
+    public int[] getFinishes() {
+        return finish;
+    }
+
+}
@@ -1,8 +1,10 @@
 package ms_rcpsp_lib.src.msrcpsp.scheduling.greedy;
 
 
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Resource;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
 
 import java.util.Arrays;
@@ -21,6 +23,17 @@ public class Greedy {
 
     private boolean[] hasSuccessors;
 
+    // scratch space of rebuildTimestamps(), sized on first use
+    private int[] rebuiltFinishes;
+    private int[] previousFinishes;
+    private boolean[] moved;
+    private int[] movedTasks;
+
+    // scratch space of decoding with a cutoff, sized on first use
+    private int[] remainingWorkloads;
+    private int[] earliestHeads;
+    private boolean lastBuildExact = true;
+
     public Greedy() {
 
     }
@@ -55,8 +68,8 @@ public class Greedy {
      * and timestamp
      */
     private Schedule build(Schedule schedule, Task task) {
-        List<Resource> capableResources = schedule.getCapableResources(task);
-        Resource candidateResource = schedule.findCheapestResource(capableResources);
+        // capable resources are sorted by salary
+        Resource candidateResource = schedule.getCapableResources(task).get(0);
         task.setResourceId(candidateResource.getId());
         int earliestTime = schedule.getEarliestTime(task);
         task.setStart(Math.max(candidateResource.getFinish(), earliestTime));
@@ -84,7 +97,9 @@ public class Greedy {
     /**
      * Finds the cheapest resource available for the task and the point
      * of its start and assigns it. If there are none, assigns the first
-     * available one and moves the start time.
+     * available one and moves the start time. Resources available equally
+     * early are taken in the order of salary, the cheapest first, and then
+     * in the order of the schedule.
      *
      * @param schedule schedule with the <code>task</code>
      * @param task     task to modify
@@ -92,13 +107,19 @@ public class Greedy {
      */
     public Resource buildAssignments(Schedule schedule, Task task) {
         task.setStart(schedule.getEarliestTime(task));
-        List<Resource> capableResources = schedule.getCapableResources(task, task.getStart());
-        Resource candidateResource = schedule.findCheapestResource(capableResources);
+        List<Resource> capableResources = schedule.getCapableResources(task);
+        Resource candidateResource = null;
+        // capable resources are sorted by salary, so the first available one is the cheapest
+        for (int i = 0; i < capableResources.size(); ++i) {
+            if (task.getStart() >= capableResources.get(i).getFinish()) {
+                candidateResource = capableResources.get(i);
+                break;
+            }
+        }
         if (null != candidateResource) {
             task.setResourceId(candidateResource.getId());
             candidateResource.setFinish(task.getStart() + task.getDuration());
         } else {
-            capableResources = schedule.getCapableResources(task);
             candidateResource = schedule.findFirstFreeResource(capableResources);
             task.setResourceId(candidateResource.getId());
             task.setStart(candidateResource.getFinish());
@@ -110,9 +131,10 @@ public class Greedy {
     /**
      * Determines order of tasks by setting their start
      * and finish. Does not change task / resource assignment.
-     * Assumes that all assignments are set. Uses knowledge about
-     * successors of each task to first place the tasks with successors
-     * and then rest of the tasks.
+     * Assumes that all assignments are set. Places tasks in the
+     * topological order of the schedule's instance - tasks with
+     * successors first and then rest of the tasks, but never before
+     * their predecessors - in a single pass.
      *
      * @param schedule schedule to build
      * @return built schedule
@@ -122,32 +144,360 @@ public class Greedy {
         for (Resource r : resources) {
             r.setFinish(0);
         }
-        Task[] tasks = schedule.getTasks();
+        ProblemInstance instance = schedule.getInstance();
+        Task task;
         Resource res;
         int start;
-        // Assign tasks with relation requirements
-        for (int i = 0; i < tasks.length; ++i) {
-            if (hasSuccessors[i]) {
-                res = resources[tasks[i].getResourceId() - 1];
-                start = Math.max(schedule.getEarliestTime(tasks[i]),
-                        res.getFinish());
-                tasks[i].setStart(start);
-                res.setFinish(start + tasks[i].getDuration());
+        for (int taskIndex : instance.getTopologicalOrder()) {
+            task = schedule.getTask(instance.getTaskId(taskIndex));
+            res = schedule.getResource(task.getResourceId());
+            start = Math.max(schedule.getEarliestTime(task),
+                    res.getFinish());
+            task.setStart(start);
+            res.setFinish(start + task.getDuration());
+        }
+        return schedule;
+    }
+
+    /**
+     * Determines order of tasks by setting their start
+     * and finish, working on the primitive representation of a solution.
+     * Does not change task / resource assignment. Assumes that all
+     * assignments are set. Places tasks in the same order as
+     * <code>buildTimestamps(Schedule)</code> does, in time linear
+     * in the number of tasks and precedence relations.
+     *
+     * @param state solution to build
+     * @return built solution
+     */
+    public SolutionState buildTimestamps(SolutionState state) {
+        placeTasks(state, state.getInstance().getTopologicalOrder());
+        state.markDecoded();
+        return state;
+    }
+
+    /**
+     * Serial schedule generation - places tasks one by one in the order
+     * of an activity list, each one after its predecessors and after tasks
+     * placed on its resource before, working on the primitive representation
+     * of a solution. Does not change task / resource assignment. Assumes
+     * that all assignments are set and that every task follows its
+     * predecessors on the list, see
+     * <code>ProblemInstance.isPrecedenceFeasible()</code>. Takes time
+     * linear in the number of tasks and precedence relations.
+     * <p>
+     * <code>rebuildTimestamps()</code> places tasks in the topological
+     * order of the instance, so it builds solutions decoded this way
+     * from scratch.
+     *
+     * @param state        solution to build
+     * @param activityList indexes of all tasks in order of placing them
+     * @return built solution
+     */
+    public SolutionState buildTimestamps(SolutionState state, int[] activityList) {
+        placeTasks(state, activityList);
+        state.invalidate();
+        return state;
+    }
+
+    /**
+     * Builds timestamps like <code>buildTimestamps(SolutionState)</code>,
+     * but gives up as soon as makespan of the solution is known to exceed
+     * the cutoff. Makespan cannot be shorter than the critical path of any
+     * placed task - its finish followed by its tail - nor than the finish
+     * of any resource followed by the work still assigned to it. Before
+     * placing any task, the whole critical path and the work of every
+     * resource starting at the earliest head of its tasks are checked.
+     * <p>
+     * A solution built entirely can be rebuilt incrementally. If the build
+     * was given up, the timestamps are not valid.
+     *
+     * @param state  solution to build
+     * @param cutoff highest makespan of interest
+     * @return makespan of the solution if <code>isLastBuildExact()</code>,
+     * otherwise a lower bound of the makespan exceeding the cutoff
+     */
+    public int buildTimestampsWithCutoff(SolutionState state, int cutoff) {
+        int result = placeTasks(state, state.getInstance().getTopologicalOrder(), cutoff);
+        if (lastBuildExact) {
+            state.markDecoded();
+        } else {
+            state.invalidate();
+        }
+        return result;
+    }
+
+    /**
+     * Serial schedule generation of an activity list, giving up like
+     * <code>buildTimestampsWithCutoff(SolutionState, int)</code> does.
+     *
+     * @param state        solution to build
+     * @param activityList indexes of all tasks in order of placing them
+     * @param cutoff       highest makespan of interest
+     * @return makespan of the solution if <code>isLastBuildExact()</code>,
+     * otherwise a lower bound of the makespan exceeding the cutoff
+     */
+    public int buildTimestampsWithCutoff(SolutionState state, int[] activityList, int cutoff) {
+        int result = placeTasks(state, activityList, cutoff);
+        state.invalidate();
+        return result;
+    }
+
+    /**
+     * Brings timestamps of a solution up to date like
+     * <code>rebuildTimestamps()</code> does, but gives up as soon as
+     * a placed task followed by its tail finishes after the cutoff.
+     * If the timestamps were not built before, builds them with
+     * <code>buildTimestampsWithCutoff(SolutionState, int)</code>.
+     *
+     * @param state  solution to build
+     * @param cutoff highest makespan of interest
+     * @return makespan of the solution if <code>isLastBuildExact()</code>,
+     * otherwise a lower bound of the makespan exceeding the cutoff
+     */
+    public int rebuildTimestampsWithCutoff(SolutionState state, int cutoff) {
+        if (!state.isDecoded()) {
+            return buildTimestampsWithCutoff(state, cutoff);
+        }
+        int result = rebuildChangedTimestamps(state, cutoff);
+        lastBuildExact = -1 == result;
+        if (lastBuildExact) {
+            state.markDecoded();
+            return state.getDuration();
+        }
+        state.invalidate();
+        return result;
+    }
+
+    /**
+     * @return true if the last build with a cutoff placed all tasks,
+     * false if it was given up
+     */
+    public boolean isLastBuildExact() {
+        return lastBuildExact;
+    }
+
+    /**
+     * Places tasks in given order, giving up once the makespan is known to
+     * exceed the cutoff.
+     *
+     * @return makespan or the bound exceeding the cutoff, see <code>isLastBuildExact()</code>
+     */
+    private int placeTasks(SolutionState state, int[] order, int cutoff) {
+        ProblemInstance instance = state.getInstance();
+        int[] durations = instance.getDurations();
+        int[] heads = instance.getHeads();
+        int[] tails = instance.getTails();
+        int[] predecessorOffsets = instance.getPredecessorOffsets();
+        int[] predecessors = instance.getPredecessorIndexes();
+        int[] starts = state.getStarts();
+        int[] resources = state.getResources();
+        int[] finishes = state.getFinishes();
+        if (null == remainingWorkloads || remainingWorkloads.length != finishes.length) {
+            remainingWorkloads = new int[finishes.length];
+            earliestHeads = new int[finishes.length];
+        }
+
+        Arrays.fill(remainingWorkloads, 0);
+        Arrays.fill(earliestHeads, Integer.MAX_VALUE);
+        for (int taskIndex = 0; taskIndex < resources.length; ++taskIndex) {
+            remainingWorkloads[resources[taskIndex]] += durations[taskIndex];
+            earliestHeads[resources[taskIndex]] = Math.min(earliestHeads[resources[taskIndex]], heads[taskIndex]);
+        }
+        int bound = instance.getCriticalPathLength();
+        for (int r = 0; r < remainingWorkloads.length; ++r) {
+            if (remainingWorkloads[r] > 0) {
+                bound = Math.max(bound, earliestHeads[r] + remainingWorkloads[r]);
             }
         }
-        // Assign rest of the tasks
-        for (int i = 0; i < tasks.length; ++i) {
-            if (!hasSuccessors[i]) {
-                res = resources[tasks[i].getResourceId() - 1];
-                start = Math.max(schedule.getEarliestTime(tasks[i]),
-                        res.getFinish());
-                tasks[i].setStart(start);
-                res.setFinish(start + tasks[i].getDuration());
+        lastBuildExact = bound <= cutoff;
+        if (!lastBuildExact) {
+            return bound;
+        }
+
+        Arrays.fill(finishes, 0);
+        int makespan = 0;
+        for (int taskIndex : order) {
+            int resource = resources[taskIndex];
+            int start = finishes[resource];
+            for (int p = predecessorOffsets[taskIndex]; p < predecessorOffsets[taskIndex + 1]; ++p) {
+                int predecessor = predecessors[p];
+                start = Math.max(start, starts[predecessor] + durations[predecessor]);
             }
+            int finish = start + durations[taskIndex];
+            starts[taskIndex] = start;
+            finishes[resource] = finish;
+            remainingWorkloads[resource] -= durations[taskIndex];
+            int taskBound = finish + Math.max(tails[taskIndex], remainingWorkloads[resource]);
+            if (taskBound > cutoff) {
+                lastBuildExact = false;
+                return taskBound;
+            }
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    private void placeTasks(SolutionState state, int[] order) {
+        ProblemInstance instance = state.getInstance();
+        int[] durations = instance.getDurations();
+        int[] predecessorOffsets = instance.getPredecessorOffsets();
+        int[] predecessors = instance.getPredecessorIndexes();
+        int[] starts = state.getStarts();
+        int[] resources = state.getResources();
+        int[] finishes = state.getFinishes();
+        Arrays.fill(finishes, 0);
+        for (int taskIndex : order) {
+            int start = finishes[resources[taskIndex]];
+            for (int p = predecessorOffsets[taskIndex]; p < predecessorOffsets[taskIndex + 1]; ++p) {
+                int predecessor = predecessors[p];
+                start = Math.max(start, starts[predecessor] + durations[predecessor]);
+            }
+            starts[taskIndex] = start;
+            finishes[resources[taskIndex]] = start + durations[taskIndex];
+        }
+    }
+
+    /**
+     * Brings timestamps of a solution up to date with its assignments,
+     * giving the same result as <code>buildTimestamps(SolutionState)</code>.
+     * If the timestamps were built before and only some tasks were
+     * reassigned since then, tasks preceding the first reassigned one
+     * in the topological order keep their start, and placing tasks stops
+     * as soon as the rest of the timeline is known to be unchanged.
+     * Otherwise builds the timestamps from scratch.
+     *
+     * @param state solution to build
+     * @return built solution
+     */
+    public SolutionState rebuildTimestamps(SolutionState state) {
+        if (!state.isDecoded()) {
+            return buildTimestamps(state);
+        }
+        rebuildChangedTimestamps(state, Integer.MAX_VALUE);
+        state.markDecoded();
+        return state;
+    }
+
+    /**
+     * Rebuilds timestamps of the reassigned tasks of a decoded solution.
+     *
+     * @return -1 if the timestamps are up to date, otherwise a lower bound of the makespan exceeding the cutoff
+     */
+    private int rebuildChangedTimestamps(SolutionState state, int cutoff) {
+        int[] positions = state.getInstance().getTopologicalPositions();
+        int[] resources = state.getResources();
+        int[] changedTasks = state.getChangedTasks();
+        int firstPosition = positions.length;
+        int remainingChanged = 0;
+        for (int i = 0; i < state.getChangedCount(); ++i) {
+            int taskIndex = changedTasks[i];
+            if (state.getPreviousResource(taskIndex) != resources[taskIndex]) {
+                firstPosition = Math.min(firstPosition, positions[taskIndex]);
+                ++remainingChanged;
+            }
+        }
+        return remainingChanged > 0 ? rebuildTimestamps(state, firstPosition, remainingChanged, cutoff) : -1;
+    }
+
+    /**
+     * Places tasks again starting from given position of the topological
+     * order. Keeps track of the timeline built before, so it can stop once
+     * resources are free at the same time as they were, no moved task
+     * has a successor left to place and no reassigned task is left.
+     * Gives up once a placed task followed by its tail finishes after the cutoff.
+     *
+     * @return -1 if all tasks were placed, otherwise a lower bound of the makespan exceeding the cutoff
+     */
+    private int rebuildTimestamps(SolutionState state, int firstPosition, int remainingChanged, int cutoff) {
+        ProblemInstance instance = state.getInstance();
+        int[] order = instance.getTopologicalOrder();
+        int[] durations = instance.getDurations();
+        int[] predecessorOffsets = instance.getPredecessorOffsets();
+        int[] predecessors = instance.getPredecessorIndexes();
+        int[] successorOffsets = instance.getSuccessorOffsets();
+        int[] tails = instance.getTails();
+        int[] starts = state.getStarts();
+        int[] resources = state.getResources();
+        int[] finishes = state.getFinishes();
+        allocateScratch(instance);
+
+        // resources are free at the same time in both timelines until the first reassigned task
+        Arrays.fill(rebuiltFinishes, 0);
+        for (int position = 0; position < firstPosition; ++position) {
+            int taskIndex = order[position];
+            rebuiltFinishes[resources[taskIndex]] = starts[taskIndex] + durations[taskIndex];
+        }
+        System.arraycopy(rebuiltFinishes, 0, previousFinishes, 0, rebuiltFinishes.length);
+
+        int mismatchedResources = 0;
+        int pendingSuccessors = 0;
+        int movedCount = 0;
+        int bound = -1;
+        boolean finished = false;
+        for (int position = firstPosition; position < order.length && !finished && -1 == bound; ++position) {
+            int taskIndex = order[position];
+            int resource = resources[taskIndex];
+            int previousResource = state.getPreviousResource(taskIndex);
+            int start = rebuiltFinishes[resource];
+            for (int p = predecessorOffsets[taskIndex]; p < predecessorOffsets[taskIndex + 1]; ++p) {
+                int predecessor = predecessors[p];
+                start = Math.max(start, starts[predecessor] + durations[predecessor]);
+                if (moved[predecessor]) {
+                    --pendingSuccessors;
+                }
+            }
+            int previousStart = starts[taskIndex];
+            starts[taskIndex] = start;
+            if (start + durations[taskIndex] + tails[taskIndex] > cutoff) {
+                bound = start + durations[taskIndex] + tails[taskIndex];
+            }
+
+            mismatchedResources -= countMismatch(resource) + (resource != previousResource ? countMismatch(previousResource) : 0);
+            rebuiltFinishes[resource] = start + durations[taskIndex];
+            previousFinishes[previousResource] = previousStart + durations[taskIndex];
+            mismatchedResources += countMismatch(resource) + (resource != previousResource ? countMismatch(previousResource) : 0);
+
+            if (start != previousStart) {
+                moved[taskIndex] = true;
+                movedTasks[movedCount++] = taskIndex;
+                pendingSuccessors += successorOffsets[taskIndex + 1] - successorOffsets[taskIndex];
+            }
+            if (resource != previousResource) {
+                --remainingChanged;
+            }
+            finished = 0 == mismatchedResources && 0 == pendingSuccessors && 0 == remainingChanged;
+        }
+        if (!finished) {
+            System.arraycopy(rebuiltFinishes, 0, finishes, 0, finishes.length);
+        }
+        for (int i = 0; i < movedCount; ++i) {
+            moved[movedTasks[i]] = false;
+        }
+        return bound;
+    }
+
+    private int countMismatch(int resource) {
+        return rebuiltFinishes[resource] != previousFinishes[resource] ? 1 : 0;
+    }
+
+    private void allocateScratch(ProblemInstance instance) {
+        if (null == moved || moved.length != instance.getTaskCount()) {
+            moved = new boolean[instance.getTaskCount()];
+            movedTasks = new int[instance.getTaskCount()];
+        }
+        if (null == rebuiltFinishes || rebuiltFinishes.length != instance.getResourceCount()) {
+            rebuiltFinishes = new int[instance.getResourceCount()];
+            previousFinishes = new int[instance.getResourceCount()];
         }
-        return schedule;
     }
 
+    /**
+     * Kept for compatibility, tasks are ordered by
+     * <code>ProblemInstance.getTopologicalOrder()</code>.
+     *
+     * @return successor table set for this builder
+     */
     public boolean[] getHasSuccessors() {
         return hasSuccessors;
     }
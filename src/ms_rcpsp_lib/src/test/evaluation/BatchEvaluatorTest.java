@@ -0,0 +1,84 @@
+package ms_rcpsp_lib.src.test.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.evaluation.BatchEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.ObjectiveVector;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.SolutionEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.greedy.Greedy;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BatchEvaluatorTest {
+
+  @Test
+  public void testMatchesSolutionEvaluator() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    ProblemInstance instance = schedule.getInstance();
+    Random random = new Random(7);
+    SolutionState[] states = new SolutionState[13];
+    BatchEvaluator batchEvaluator = new BatchEvaluator(instance, 16);
+    for (int i = 0; i < states.length; ++i) {
+      states[i] = new SolutionState(instance);
+      for (int t = 0; t < instance.getTaskCount(); ++t) {
+        int[] capable = instance.getCapableResources(t);
+        states[i].assign(t, capable[random.nextInt(capable.length)]);
+      }
+      batchEvaluator.setResources(i, states[i].getResources());
+    }
+    batchEvaluator.evaluate(states.length);
+
+    Greedy scheduleBuilder = new Greedy();
+    SolutionEvaluator solutionEvaluator = new SolutionEvaluator(instance);
+    SolutionState decoded = new SolutionState(instance);
+    for (int i = 0; i < states.length; ++i) {
+      scheduleBuilder.buildTimestamps(states[i]);
+      ObjectiveVector objectives = solutionEvaluator.evaluate(states[i]);
+      assertEquals("Wrong duration", objectives.getDuration(), batchEvaluator.getDuration(i));
+      assertEquals("Wrong cost", Double.doubleToLongBits(objectives.getCost()),
+          Double.doubleToLongBits(batchEvaluator.getCost(i)));
+
+      decoded.copyAssignments(states[i].getResources());
+      batchEvaluator.copyTimestampsTo(i, decoded);
+      assertTrue("Timestamps are not marked as built", decoded.isDecoded());
+      assertArrayEquals("Wrong starts", states[i].getStarts(), decoded.getStarts());
+      assertArrayEquals("Wrong finishes", states[i].getFinishes(), decoded.getFinishes());
+    }
+  }
+
+  @Test
+  public void testBatchIsReused() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    ProblemInstance instance = schedule.getInstance();
+    SolutionState cheap = new SolutionState(instance);
+    SolutionState expensive = new SolutionState(instance);
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      int[] capable = instance.getCapableResources(t);
+      cheap.assign(t, capable[0]);
+      expensive.assign(t, capable[capable.length - 1]);
+    }
+    SolutionEvaluator solutionEvaluator = new SolutionEvaluator(instance);
+    Greedy scheduleBuilder = new Greedy();
+    scheduleBuilder.buildTimestamps(expensive);
+    int expensiveDuration = solutionEvaluator.evaluate(expensive).getDuration();
+    double expensiveCost = solutionEvaluator.evaluate(expensive).getCost();
+
+    BatchEvaluator batchEvaluator = new BatchEvaluator(instance, 2);
+    batchEvaluator.setResources(0, cheap.getResources());
+    batchEvaluator.setResources(1, cheap.getResources());
+    batchEvaluator.evaluate(2);
+    batchEvaluator.setResources(0, expensive.getResources());
+    batchEvaluator.evaluate(1);
+    assertEquals("Wrong duration", expensiveDuration, batchEvaluator.getDuration(0));
+    assertEquals("Wrong cost", expensiveCost, batchEvaluator.getCost(0), 0);
+  }
+}
@@ -0,0 +1,97 @@
+package ms_rcpsp_lib.src.test.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.evaluation.EvaluatorType;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.FrontIndicators;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.GenerationalDistanceEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.KdTree;
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.greedy.Greedy;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FrontIndicatorsTest {
+
+  @Test
+  public void testDistances() {
+    double[] referenceXs = {0, 1, 2};
+    double[] referenceYs = {2, 1, 0};
+    KdTree reference = new KdTree(referenceXs, referenceYs, 3);
+    double[] xs = {0, 2};
+    double[] ys = {3, 1};
+    FrontIndicators indicators = new FrontIndicators();
+    // distances to the reference front are 1 and 1
+    assertEquals("Wrong generational distance", Math.sqrt(2) / 2,
+        indicators.getGenerationalDistance(xs, ys, 2, reference), 1e-12);
+    // distances from the reference front are 1, 1 and 1
+    assertEquals("Wrong inverted generational distance", Math.sqrt(3) / 3,
+        indicators.getInvertedGenerationalDistance(xs, ys, 2, reference), 1e-12);
+    assertEquals("Reference front is at no distance from itself", 0,
+        indicators.getInvertedGenerationalDistance(referenceXs, referenceYs, 3, reference), 0);
+  }
+
+  @Test
+  public void testHypervolume() {
+    FrontIndicators indicators = new FrontIndicators();
+    // (3, 1) and (2, 2) are dominated, (5, 0) is not better than the reference point
+    double[] xs = {3, 2, 1, 0, 1, 2, 5};
+    double[] ys = {1, 2, 2, 3, 2, 0, 0};
+    // steps of the staircase are 1 x 1, 1 x 2 and 2 x 4
+    assertEquals("Wrong hypervolume", 1 + 2 + 8, indicators.getHypervolume(xs, ys, 7, 4, 4), 1e-12);
+    assertEquals("Empty front dominates nothing", 0, indicators.getHypervolume(xs, ys, 0, 4, 4), 0);
+  }
+
+  @Test
+  public void testHypervolumeMatchesGridCount() {
+    Random random = new Random(5);
+    int size = 20;
+    double[] xs = new double[300];
+    double[] ys = new double[300];
+    boolean[][] dominated = new boolean[size][size];
+    for (int i = 0; i < xs.length; ++i) {
+      xs[i] = random.nextInt(size);
+      ys[i] = random.nextInt(size);
+      for (int x = (int) xs[i]; x < size; ++x) {
+        for (int y = (int) ys[i]; y < size; ++y) {
+          dominated[x][y] = true;
+        }
+      }
+    }
+    int cells = 0;
+    for (boolean[] column : dominated) {
+      for (boolean cell : column) {
+        cells += cell ? 1 : 0;
+      }
+    }
+    assertEquals("Wrong hypervolume", cells, new FrontIndicators().getHypervolume(xs, ys, xs.length, size, size), 1e-9);
+  }
+
+  @Test
+  public void testGenerationalDistanceEvaluator() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    ProblemInstance instance = schedule.getInstance();
+    SolutionState state = new SolutionState(instance);
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      state.assign(t, instance.getCapableResources(t)[0]);
+    }
+    new Greedy().buildTimestamps(state);
+    state.applyTo(schedule);
+
+    KdTree reference = new KdTree(new double[]{0, 1}, new double[]{1, 0}, 2);
+    GenerationalDistanceEvaluator evaluator = new GenerationalDistanceEvaluator(schedule, reference);
+    assertEquals("Wrong type", EvaluatorType.GENERATIONAL_DISTANCE_EVALUATOR, evaluator.getType());
+    double duration = evaluator.getDurationNormalized();
+    double cost = evaluator.getCostNormalized();
+    double expected = Math.min(Math.hypot(duration, cost - 1), Math.hypot(duration - 1, cost));
+    assertEquals("Wrong distance", expected, evaluator.evaluate(), 1e-12);
+    assertEquals("Copy should evaluate the same", expected, evaluator.getCopy(schedule).evaluate(), 1e-12);
+  }
+
+}
@@ -0,0 +1,49 @@
+package ms_rcpsp_lib.src.test.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.evaluation.KdTree;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KdTreeTest {
+
+  @Test
+  public void testNearestMatchesLinearSearch() {
+    Random random = new Random(3);
+    double[] xs = new double[1000];
+    double[] ys = new double[1000];
+    for (int i = 0; i < xs.length; ++i) {
+      // a coarse grid, so there are many equal coordinates and duplicated points
+      xs[i] = random.nextInt(40) / 40.0;
+      ys[i] = random.nextInt(40) / 40.0;
+    }
+    KdTree tree = new KdTree(xs, ys, xs.length);
+    assertEquals("Wrong size", xs.length, tree.size());
+    for (int q = 0; q < 500; ++q) {
+      double x = random.nextDouble() * 1.2 - 0.1;
+      double y = random.nextDouble() * 1.2 - 0.1;
+      double nearest = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < xs.length; ++i) {
+        nearest = Math.min(nearest, (xs[i] - x) * (xs[i] - x) + (ys[i] - y) * (ys[i] - y));
+      }
+      assertEquals("Wrong nearest distance", nearest, tree.getNearestDistanceSquared(x, y), 0);
+    }
+  }
+
+  @Test
+  public void testRebuild() {
+    KdTree tree = new KdTree();
+    assertEquals("Empty tree has no nearest point", Double.POSITIVE_INFINITY, tree.getNearestDistance(0, 0), 0);
+    double[] xs = {0, 3, 6};
+    double[] ys = {4, 0, 8};
+    tree.build(xs, ys, 3);
+    assertEquals("Wrong nearest distance", 3, tree.getNearestDistance(0, 0), 1e-12);
+    tree.build(xs, ys, 2);
+    xs[0] = 100;
+    assertEquals("Points should be copied", 2, tree.size());
+    assertEquals("Wrong nearest distance after rebuild", Math.sqrt(52), tree.getNearestDistance(6, 8), 1e-12);
+  }
+
+}
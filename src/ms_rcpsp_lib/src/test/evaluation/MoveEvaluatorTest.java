@@ -0,0 +1,92 @@
+package ms_rcpsp_lib.src.test.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.evaluation.MoveEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.ObjectiveVector;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.SolutionEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.greedy.Greedy;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MoveEvaluatorTest {
+
+  @Test
+  public void testReassignmentsMatchFullDecoding() {
+    ProblemInstance instance = readInstance();
+    SolutionState state = createSolution(instance);
+    SolutionState original = new SolutionState(state);
+    MoveEvaluator moveEvaluator = new MoveEvaluator(instance);
+    moveEvaluator.setSolution(state);
+
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      for (int r : instance.getCapableResources(t)) {
+        if (r == state.getResources()[t]) {
+          continue;
+        }
+        ObjectiveVector objectives = moveEvaluator.evaluateReassignment(t, r);
+        SolutionState moved = new SolutionState(state);
+        moved.assign(t, r);
+        assertObjectives(instance, moved, objectives);
+      }
+    }
+    assertTrue("Moves of the last tasks should not be decoded", moveEvaluator.getShortcutCount() > 0);
+    assertTrue("Other moves should be decoded", moveEvaluator.getRedecodedCount() > 0);
+    assertTrue("Solution should not change", Arrays.equals(original.getResources(), state.getResources()));
+  }
+
+  @Test
+  public void testSwapsMatchFullDecoding() {
+    ProblemInstance instance = readInstance();
+    SolutionState state = createSolution(instance);
+    MoveEvaluator moveEvaluator = new MoveEvaluator(instance);
+    moveEvaluator.setSolution(state);
+    Random random = new Random(11);
+
+    for (int i = 0; i < 500; ++i) {
+      int t1 = random.nextInt(instance.getTaskCount());
+      int t2 = random.nextInt(instance.getTaskCount());
+      ObjectiveVector objectives = moveEvaluator.evaluateSwap(t1, t2);
+      SolutionState moved = new SolutionState(state);
+      int resource = moved.getResources()[t1];
+      moved.assign(t1, moved.getResources()[t2]);
+      moved.assign(t2, resource);
+      assertObjectives(instance, moved, objectives);
+    }
+    assertEquals("Unchanged solution has wrong makespan", new Greedy().buildTimestamps(state).getDuration(),
+        moveEvaluator.getDuration());
+  }
+
+  private static void assertObjectives(ProblemInstance instance, SolutionState moved, ObjectiveVector objectives) {
+    moved.invalidate();
+    new Greedy().buildTimestamps(moved);
+    ObjectiveVector expected = new SolutionEvaluator(instance).evaluate(moved);
+    assertEquals("Wrong makespan", expected.getDuration(), objectives.getDuration());
+    assertEquals("Wrong cost", expected.getCost(), objectives.getCost(), 1e-6);
+    assertEquals("Wrong normalized cost", expected.getCostNormalized(), objectives.getCostNormalized(), 1e-9);
+  }
+
+  private static ProblemInstance readInstance() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    return schedule.getInstance();
+  }
+
+  private static SolutionState createSolution(ProblemInstance instance) {
+    Random random = new Random(5);
+    SolutionState state = new SolutionState(instance);
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      int[] capable = instance.getCapableResources(t);
+      state.assign(t, capable[random.nextInt(capable.length)]);
+    }
+    return new Greedy().buildTimestamps(state);
+  }
+
+}
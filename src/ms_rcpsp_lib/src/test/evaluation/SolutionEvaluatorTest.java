@@ -0,0 +1,69 @@
+package ms_rcpsp_lib.src.test.evaluation;
+
+import ms_rcpsp_lib.src.msrcpsp.evaluation.ObjectiveVector;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.SolutionEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.evaluation.WeightedEvaluator;
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.greedy.Greedy;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SolutionEvaluatorTest {
+
+  @Test
+  public void testMatchesWeightedEvaluator() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    ProblemInstance instance = schedule.getInstance();
+    SolutionState state = new SolutionState(instance);
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      int[] capable = instance.getCapableResources(t);
+      state.assign(t, capable[t % capable.length]);
+    }
+    new Greedy().buildTimestamps(state);
+    state.applyTo(schedule);
+
+    WeightedEvaluator weightedEvaluator = new WeightedEvaluator(schedule, 0.3);
+    SolutionEvaluator solutionEvaluator = new SolutionEvaluator(instance);
+    assertEquals("Wrong maximum duration", weightedEvaluator.getMaxDuration(), solutionEvaluator.getMaxDuration());
+    assertEquals("Wrong maximum cost", weightedEvaluator.getMaxCost(), solutionEvaluator.getMaxCost());
+
+    ObjectiveVector objectives = solutionEvaluator.evaluate(state);
+    assertEquals("Wrong duration", weightedEvaluator.getDuration(), objectives.getDuration());
+    assertEquals("Wrong cost", weightedEvaluator.getCost(), objectives.getCost(), 1e-6);
+    assertEquals("Wrong normalized duration", weightedEvaluator.getDurationNormalized(), objectives.getDurationNormalized(), 1e-12);
+    assertEquals("Wrong normalized cost", weightedEvaluator.getCostNormalized(), objectives.getCostNormalized(), 1e-12);
+    assertEquals("Wrong weighted objective", weightedEvaluator.evaluate(), objectives.getWeighted(0.3), 1e-12);
+  }
+
+  @Test
+  public void testObjectiveVectorIsReused() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    ProblemInstance instance = schedule.getInstance();
+    SolutionState cheap = new SolutionState(instance);
+    SolutionState expensive = new SolutionState(instance);
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      int[] capable = instance.getCapableResources(t);
+      cheap.assign(t, capable[0]);
+      expensive.assign(t, capable[capable.length - 1]);
+    }
+    Greedy scheduleBuilder = new Greedy();
+    scheduleBuilder.buildTimestamps(cheap);
+    scheduleBuilder.buildTimestamps(expensive);
+
+    SolutionEvaluator evaluator = new SolutionEvaluator(instance);
+    ObjectiveVector objectives = evaluator.evaluate(cheap);
+    double cheapCost = objectives.getCost();
+    assertSame("Objective vector should be reused", objectives, evaluator.evaluate(expensive));
+    assertTrue("Capable resources are sorted by salary", cheapCost <= objectives.getCost());
+    assertEquals("Wrong cost", expensive.getCost(), objectives.getCost(), 1e-6);
+  }
+
+}
@@ -1,9 +1,15 @@
 package ms_rcpsp_lib.src.test.io;
 
 import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Resource;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Skill;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.*;
 
 public class MSRCPSPIOTest {
@@ -31,4 +37,32 @@ public class MSRCPSPIOTest {
     assertEquals("Wrong last predecessor of the 7th task", schedule.getTask(7).getPredecessors()[3], 4);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testReadInternsSkillTypes() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+
+    Map<String, Integer> typeIds = new HashMap<>();
+    for (Resource resource : schedule.getResources()) {
+      for (Skill skill : resource.getSkills()) {
+        assertInterned(typeIds, skill);
+      }
+    }
+    for (Task task : schedule.getTasks()) {
+      assertInterned(typeIds, task.getRequiredSkills());
+    }
+  }
+
+  private void assertInterned(Map<String, Integer> typeIds, Skill skill) {
+    assertTrue("Skill type was not interned", skill.getTypeId() >= 0);
+    Integer typeId = typeIds.get(skill.getType());
+    if (null == typeId) {
+      assertFalse("Types share an id", typeIds.containsValue(skill.getTypeId()));
+      typeIds.put(skill.getType(), skill.getTypeId());
+    } else {
+      assertEquals("Type has different ids", typeId.intValue(), skill.getTypeId());
+    }
+  }
+
+}
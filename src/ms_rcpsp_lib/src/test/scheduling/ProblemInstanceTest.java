@@ -0,0 +1,153 @@
+package ms_rcpsp_lib.src.test.scheduling;
+
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ProblemInstanceTest {
+
+  @Test
+  public void testCompile() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    ProblemInstance instance = new ProblemInstance(schedule);
+
+    assertEquals("Wrong number of tasks", 10, instance.getTaskCount());
+    assertEquals("Wrong number of resources", 7, instance.getResourceCount());
+
+    int lastTask = instance.getTaskIndex(10);
+    assertEquals("Wrong duration of the last task", 23, instance.getDuration(lastTask));
+    assertEquals("Wrong salary of the last resource", 89.9, instance.getSalary(instance.getResourceIndex(7)), 0.0);
+
+    int[] predecessors = instance.getPredecessors(instance.getTaskIndex(7));
+    assertEquals("Wrong last predecessor of the 7th task", 4, instance.getTaskId(predecessors[3]));
+    assertTrue("Predecessor should have successors", instance.hasSuccessors(predecessors[3]));
+
+    assertEquals("Unknown task should not be indexed", -1, instance.getTaskIndex(11));
+  }
+
+  @Test
+  public void testCanDoTask() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    ProblemInstance instance = new ProblemInstance(schedule);
+
+    Task[] tasks = schedule.getTasks();
+    for (int t = 0; t < tasks.length; ++t) {
+      for (int r = 0; r < schedule.getResources().length; ++r) {
+        assertEquals("Capability differs from the schedule for task " + tasks[t].getId(),
+            schedule.canDoTask(tasks[t], schedule.getResources()[r]), instance.canDoTask(t, r));
+      }
+    }
+  }
+
+  @Test
+  public void testCapableResourcesSortedBySalary() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    ProblemInstance instance = new ProblemInstance(schedule);
+
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      int[] capable = instance.getCapableResources(t);
+      int expectedCount = 0;
+      for (int r = 0; r < instance.getResourceCount(); ++r) {
+        if (instance.canDoTask(t, r)) {
+          ++expectedCount;
+        }
+      }
+      assertEquals("Wrong number of capable resources", expectedCount, capable.length);
+      for (int i = 0; i < capable.length; ++i) {
+        assertTrue("Resource cannot do the task", instance.canDoTask(t, capable[i]));
+        if (i > 0) {
+          assertTrue("Resources are not sorted by salary",
+              instance.getSalary(capable[i - 1]) <= instance.getSalary(capable[i]));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTopologicalOrder() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule is null", schedule);
+    ProblemInstance instance = new ProblemInstance(schedule);
+
+    int[] order = instance.getTopologicalOrder();
+    assertEquals("Every task should be ordered", instance.getTaskCount(), order.length);
+    int[] positions = new int[order.length];
+    Arrays.fill(positions, -1);
+    for (int i = 0; i < order.length; ++i) {
+      assertEquals("Task ordered twice", -1, positions[order[i]]);
+      positions[order[i]] = i;
+    }
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      for (int p : instance.getPredecessors(t)) {
+        assertTrue("Task ordered before its predecessor", positions[p] < positions[t]);
+        boolean found = false;
+        for (int successor : instance.getSuccessors(p)) {
+          found |= successor == t;
+        }
+        assertTrue("Successor is missing", found);
+      }
+    }
+  }
+
+  @Test
+  public void testCriticalPath() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule is null", schedule);
+    ProblemInstance instance = new ProblemInstance(schedule);
+
+    int[] heads = instance.getHeads();
+    int[] tails = instance.getTails();
+    int longestPath = 0;
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      int head = 0;
+      for (int p : instance.getPredecessors(t)) {
+        head = Math.max(head, heads[p] + instance.getDuration(p));
+      }
+      assertEquals("Wrong head of task " + t, head, heads[t]);
+      int tail = 0;
+      for (int s : instance.getSuccessors(t)) {
+        tail = Math.max(tail, instance.getDuration(s) + tails[s]);
+      }
+      assertEquals("Wrong tail of task " + t, tail, tails[t]);
+      longestPath = Math.max(longestPath, heads[t] + instance.getDuration(t) + tails[t]);
+    }
+    assertEquals("Wrong critical path length", longestPath, instance.getCriticalPathLength());
+  }
+
+  @Test
+  public void testPrecedenceFeasible() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    ProblemInstance instance = new ProblemInstance(schedule);
+
+    int[] order = instance.getTopologicalOrder().clone();
+    assertTrue("Topological order should be feasible", instance.isPrecedenceFeasible(order));
+
+    int task = instance.getTaskIndex(7);
+    int predecessor = instance.getPredecessors(task)[0];
+    int[] positions = instance.getTopologicalPositions();
+    order[positions[task]] = predecessor;
+    order[positions[predecessor]] = task;
+    assertFalse("Task placed before its predecessor", instance.isPrecedenceFeasible(order));
+
+    order[positions[predecessor]] = predecessor;
+    assertFalse("Task listed twice", instance.isPrecedenceFeasible(order));
+    assertFalse("Tasks missing", instance.isPrecedenceFeasible(new int[0]));
+  }
+
+}
@@ -51,4 +51,40 @@ public class ResourceTest {
     assertTrue("Resources should be equal", firstResource.equals(secondResource));
   }
 
+  @Test
+  public void testHasSkill() {
+    Skill skills[] = {
+        new Skill("Coding", 1, 2),
+        new Skill("Testing", 0, 1)
+    };
+    Resource resource = new Resource(1, 10000, skills);
+
+    assertTrue("Resource has the skill", resource.hasSkill(new Skill("Coding", 1, 2)));
+    assertTrue("Resource has the skill at a higher level", resource.hasSkill(new Skill("Testing", 0, 0)));
+    assertFalse("Resource has the skill at a lower level", resource.hasSkill(new Skill("Coding", 1, 3)));
+    assertFalse("Resource does not have the skill", resource.hasSkill(new Skill("Design", 2, 0)));
+    assertTrue("Not interned skill should be compared by type", resource.hasSkill(new Skill("Coding", 1)));
+    assertFalse("Not interned skill should be compared by type", resource.hasSkill(new Skill("Design", 0)));
+  }
+
+  @Test
+  public void testHasSkillAfterSkillChanges() {
+    Skill interned = new Skill("Coding", 0, 2);
+    Resource resource = new Resource(1, 10000, new Skill[]{interned});
+    assertTrue("Resource should have the skill", resource.hasSkill(new Skill("Coding", 0, 2)));
+    try {
+      resource.getSkills()[0].setLevel(1);
+      fail("Interned skill should not be modifiable");
+    } catch (IllegalStateException e) {
+      assertEquals("Level should not change", 2, interned.getLevel());
+    }
+    assertTrue("Resource should still have the skill", resource.hasSkill(new Skill("Coding", 0, 2)));
+
+    Skill notInterned = new Skill("Coding", 2);
+    resource = new Resource(1, 10000, new Skill[]{notInterned});
+    resource.getSkills()[0].setLevel(1);
+    assertFalse("Skill level is lowered", resource.hasSkill(new Skill("Coding", 2)));
+    assertTrue("Skill level is lowered", resource.hasSkill(new Skill("Coding", 1)));
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package ms_rcpsp_lib.src.test.scheduling;
+
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Resource;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScheduleTest {
+
+  @Test
+  public void testGetTaskAndResource() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+
+    for (int i = 0; i < schedule.getTasks().length; ++i) {
+      Task task = schedule.getTasks()[i];
+      assertSame("Wrong task found", task, schedule.getTask(task.getId()));
+      assertEquals("Wrong task index", i, schedule.getTaskIndex(task.getId()));
+    }
+    for (int i = 0; i < schedule.getResources().length; ++i) {
+      Resource resource = schedule.getResources()[i];
+      assertSame("Wrong resource found", resource, schedule.getResource(resource.getId()));
+      assertEquals("Wrong resource index", i, schedule.getResourceIndex(resource.getId()));
+    }
+    assertNull("Task should not exist", schedule.getTask(11));
+    assertNull("Resource should not exist", schedule.getResource(-1));
+  }
+
+  @Test
+  public void testGetTaskAfterReorder() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    assertEquals("Wrong task found", 3, schedule.getTask(3).getId());
+
+    Collections.reverse(Arrays.asList(schedule.getTasks()));
+    for (Task task : schedule.getTasks()) {
+      assertSame("Wrong task found after reorder", task, schedule.getTask(task.getId()));
+    }
+
+    Schedule copy = new Schedule(schedule);
+    assertEquals("Copy should keep the order", schedule.getTaskIndex(3), copy.getTaskIndex(3));
+    assertSame("Wrong task found in copy", copy.getTasks()[copy.getTaskIndex(3)], copy.getTask(3));
+  }
+
+  @Test
+  public void testGetCapableResources() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+
+    for (Task task : schedule.getTasks()) {
+      List<Resource> capable = schedule.getCapableResources(task);
+      int expectedCount = 0;
+      for (Resource resource : schedule.getResources()) {
+        if (resource.hasSkill(task.getRequiredSkills())) {
+          ++expectedCount;
+          assertTrue("Capable resource is missing", capable.contains(resource));
+        }
+      }
+      assertEquals("Wrong number of capable resources", expectedCount, capable.size());
+      assertSame("Capable resources should be built once", capable, schedule.getCapableResources(task));
+      assertEquals("Upper bound differs", expectedCount, schedule.getUpperBounds(schedule.getTasks().length)[schedule.getTaskIndex(task.getId())]);
+    }
+  }
+
+  @Test
+  public void testBuildTaskResourceAssignmentsInScheduleOrder() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+
+    Task[] tasks = schedule.getTasks();
+    int[] expectedIds = new int[tasks.length];
+    for (int i = 0; i < tasks.length; ++i) {
+      // the last capable resource in the order of the schedule
+      int position = 0;
+      for (Resource resource : schedule.getResources()) {
+        if (resource.hasSkill(tasks[i].getRequiredSkills())) {
+          ++position;
+          expectedIds[i] = resource.getId();
+        }
+      }
+      tasks[i].setResourceId(position);
+    }
+    schedule.buildTaskResourceAssignments();
+    for (int i = 0; i < tasks.length; ++i) {
+      assertEquals("Wrong resource assigned", expectedIds[i], tasks[i].getResourceId());
+    }
+  }
+
+  @Test
+  public void testCapableResourcesOfCopy() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    schedule.getInstance();
+
+    Schedule copy = new Schedule(schedule);
+    assertSame("Copy should share the compiled instance", schedule.getInstance(), copy.getInstance());
+    for (Task task : copy.getTasks()) {
+      List<Resource> capable = copy.getCapableResources(task);
+      assertEquals("Wrong number of capable resources", schedule.getCapableResources(task).size(), capable.size());
+      for (Resource resource : capable) {
+        assertSame("Capable resource should belong to the copy", copy.getResource(resource.getId()), resource);
+        assertTrue("Resource cannot do the task", copy.canDoTask(task, resource));
+      }
+    }
+  }
+
+}
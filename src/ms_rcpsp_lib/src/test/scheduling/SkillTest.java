@@ -1,5 +1,8 @@
 package ms_rcpsp_lib.src.test.scheduling;
 
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Resource;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Skill;
 import org.junit.Test;
 
@@ -37,4 +40,49 @@ public class SkillTest {
     assertTrue("Skills should be equal", firstSkill.equals(secondSkill));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testSkillNotInternedIsMutable() {
+    Skill skill = new Skill("Coding", 1);
+    assertEquals("Skill should not be interned", -1, skill.getTypeId());
+    skill.setType("Testing");
+    skill.setLevel(3);
+    assertEquals("Type was not changed", "Testing", skill.getType());
+    assertEquals("Level was not changed", 3, skill.getLevel());
+  }
+
+  @Test
+  public void testInternedSkillIsImmutable() {
+    Skill skill = new Skill("Coding", 0, 1);
+    try {
+      skill.setLevel(2);
+      fail("Level of an interned skill should not be changed");
+    } catch (IllegalStateException e) {
+      assertEquals("Level should stay", 1, skill.getLevel());
+    }
+    try {
+      skill.setType("Testing");
+      fail("Type of an interned skill should not be changed");
+    } catch (IllegalStateException e) {
+      assertEquals("Type should stay", "Coding", skill.getType());
+    }
+  }
+
+  @Test
+  public void testSkillsReadFromDefinitionAreImmutable() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    for (Resource resource : schedule.getResources()) {
+      for (Skill skill : resource.getSkills()) {
+        assertTrue("Skill should be interned", skill.getTypeId() >= 0);
+        try {
+          skill.setLevel(skill.getLevel() + 1);
+          fail("Skill read from a definition should not be changed");
+        } catch (IllegalStateException e) {
+          // expected
+        }
+      }
+    }
+  }
+
+}
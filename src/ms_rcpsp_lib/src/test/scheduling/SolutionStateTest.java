@@ -0,0 +1,55 @@
+package ms_rcpsp_lib.src.test.scheduling;
+
+import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SolutionStateTest {
+
+  @Test
+  public void testCopy() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    ProblemInstance instance = new ProblemInstance(schedule);
+
+    SolutionState state = new SolutionState(instance);
+    state.assign(0, 2, 5);
+    SolutionState copy = new SolutionState(state);
+    state.assign(0, 3, 7);
+
+    assertEquals("Copy should not share starts", 5, copy.getStarts()[0]);
+    assertEquals("Copy should not share assignments", 2, copy.getResources()[0]);
+
+    copy.copyFrom(state);
+    assertArrayEquals("Starts were not copied", state.getStarts(), copy.getStarts());
+    assertArrayEquals("Assignments were not copied", state.getResources(), copy.getResources());
+    assertArrayEquals("Finishes were not copied", state.getFinishes(), copy.getFinishes());
+  }
+
+  @Test
+  public void testScheduleRoundTrip() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule is null", schedule);
+    ProblemInstance instance = new ProblemInstance(schedule);
+
+    schedule.assign(schedule.getTask(3), schedule.getResource(1), 4);
+    SolutionState state = new SolutionState(instance, schedule);
+    int taskIndex = instance.getTaskIndex(3);
+    assertEquals("Wrong start read", 4, state.getStarts()[taskIndex]);
+    assertEquals("Wrong resource read", 1, instance.getResourceId(state.getResources()[taskIndex]));
+
+    state.assign(taskIndex, instance.getResourceIndex(2), 8);
+    state.applyTo(schedule);
+    assertEquals("Wrong start written", 8, schedule.getTask(3).getStart());
+    assertEquals("Wrong resource written", 2, schedule.getTask(3).getResourceId());
+    assertEquals("Wrong finish written", 8 + schedule.getTask(3).getDuration(), schedule.getResource(2).getFinish());
+    assertEquals("Wrong cost", schedule.getResource(2).getSalary() * schedule.getTask(3).getDuration(), state.getCost(), 1e-9);
+  }
+
+}
@@ -1,13 +1,19 @@
 package ms_rcpsp_lib.src.test.scheduling.schedule_builders;
 
 import ms_rcpsp_lib.src.msrcpsp.io.MSRCPSPIO;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.ProblemInstance;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.Schedule;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.SolutionState;
+import ms_rcpsp_lib.src.msrcpsp.scheduling.Task;
 import ms_rcpsp_lib.src.msrcpsp.scheduling.greedy.Greedy;
 import ms_rcpsp_lib.src.msrcpsp.validation.BaseValidator;
 import ms_rcpsp_lib.src.msrcpsp.validation.CompleteValidator;
 import ms_rcpsp_lib.src.msrcpsp.validation.ValidationResult;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 public class ScheduleBuilderTest {
@@ -62,4 +68,168 @@ public class ScheduleBuilderTest {
     assertEquals("Schedule should be valid", ValidationResult.SUCCESS, validator.validate(schedule));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testBuildTimestampsOfSolutionState() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+
+    schedule.assign(schedule.getTask(1), schedule.getResource(5));
+    schedule.assign(schedule.getTask(2), schedule.getResource(3));
+    schedule.assign(schedule.getTask(3), schedule.getResource(1));
+    schedule.assign(schedule.getTask(4), schedule.getResource(7));
+    schedule.assign(schedule.getTask(5), schedule.getResource(2));
+
+    schedule.assign(schedule.getTask(6), schedule.getResource(4));
+    schedule.assign(schedule.getTask(7), schedule.getResource(5));
+    schedule.assign(schedule.getTask(8), schedule.getResource(3));
+    schedule.assign(schedule.getTask(9), schedule.getResource(2));
+    schedule.assign(schedule.getTask(10), schedule.getResource(1));
+
+    SolutionState state = new SolutionState(new ProblemInstance(schedule), schedule);
+    Greedy scheduleBuilder = new Greedy();
+    BaseValidator validator = new CompleteValidator();
+
+    scheduleBuilder.buildTimestamps(state);
+    state.applyTo(schedule);
+    assertEquals("Schedule should be valid", ValidationResult.SUCCESS, validator.validate(schedule));
+  }
+
+  @Test
+  public void testBuildTimestampsOrderIndependent() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    for (Task task : schedule.getTasks()) {
+      schedule.assign(task, schedule.getCapableResources(task).get(task.getId() % schedule.getCapableResources(task).size()));
+    }
+    SolutionState state = new SolutionState(schedule.getInstance(), schedule);
+    Greedy scheduleBuilder = new Greedy();
+    BaseValidator validator = new CompleteValidator();
+
+    scheduleBuilder.buildTimestamps(schedule);
+    assertEquals("Schedule should be valid", ValidationResult.SUCCESS, validator.validate(schedule));
+
+    scheduleBuilder.buildTimestamps(state);
+    for (Task task : schedule.getTasks()) {
+      assertEquals("Decoders should agree", task.getStart(), state.getStarts()[schedule.getInstance().getTaskIndex(task.getId())]);
+    }
+  }
+
+  @Test
+  public void testRebuildTimestamps() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    ProblemInstance instance = schedule.getInstance();
+    Random random = new Random(7);
+    SolutionState state = new SolutionState(instance);
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      state.assign(t, instance.getCapableResources(t)[0]);
+    }
+    Greedy scheduleBuilder = new Greedy();
+    Greedy referenceBuilder = new Greedy();
+    scheduleBuilder.rebuildTimestamps(state);
+    assertTrue("Timestamps should be built", state.isDecoded());
+
+    for (int i = 0; i < 200; ++i) {
+      for (int changes = random.nextInt(3) + 1; changes > 0; --changes) {
+        int t = random.nextInt(instance.getTaskCount());
+        int[] capable = instance.getCapableResources(t);
+        state.assign(t, capable[random.nextInt(capable.length)]);
+      }
+      SolutionState reference = new SolutionState(state);
+      reference.invalidate();
+      referenceBuilder.rebuildTimestamps(reference);
+      scheduleBuilder.rebuildTimestamps(state);
+      assertEquals("No reassignments should be left", 0, state.getChangedCount());
+      assertTrue("Starts should match full decoding", Arrays.equals(reference.getStarts(), state.getStarts()));
+      assertTrue("Finishes should match full decoding", Arrays.equals(reference.getFinishes(), state.getFinishes()));
+    }
+  }
+
+  @Test
+  public void testBuildTimestampsWithCutoff() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    ProblemInstance instance = schedule.getInstance();
+    Random random = new Random(3);
+    Greedy scheduleBuilder = new Greedy();
+
+    for (int i = 0; i < 50; ++i) {
+      SolutionState state = new SolutionState(instance);
+      for (int t = 0; t < instance.getTaskCount(); ++t) {
+        int[] capable = instance.getCapableResources(t);
+        state.assign(t, capable[random.nextInt(capable.length)]);
+      }
+      int makespan = scheduleBuilder.buildTimestamps(new SolutionState(state)).getDuration();
+      assertTrue("Critical path should bound the makespan", instance.getCriticalPathLength() <= makespan);
+
+      SolutionState bounded = new SolutionState(state);
+      int bound = scheduleBuilder.buildTimestampsWithCutoff(bounded, makespan - 1);
+      assertFalse("Build should be given up", scheduleBuilder.isLastBuildExact());
+      assertFalse("Given up build should not be decoded", bounded.isDecoded());
+      assertTrue("Bound should exceed the cutoff", bound > makespan - 1);
+      assertTrue("Bound should not exceed the makespan", bound <= makespan);
+
+      assertEquals("Makespan should be exact", makespan, scheduleBuilder.buildTimestampsWithCutoff(state, makespan));
+      assertTrue("Build should be exact", scheduleBuilder.isLastBuildExact());
+      assertTrue("Exact build should be decoded", state.isDecoded());
+
+      for (int changes = random.nextInt(3) + 1; changes > 0; --changes) {
+        int t = random.nextInt(instance.getTaskCount());
+        int[] capable = instance.getCapableResources(t);
+        state.assign(t, capable[random.nextInt(capable.length)]);
+      }
+      SolutionState reference = new SolutionState(state);
+      reference.invalidate();
+      int rebuiltMakespan = scheduleBuilder.buildTimestamps(reference).getDuration();
+      SolutionState rebuilt = new SolutionState(state);
+      bound = scheduleBuilder.rebuildTimestampsWithCutoff(rebuilt, rebuiltMakespan - 1);
+      if (!scheduleBuilder.isLastBuildExact()) {
+        assertTrue("Bound should exceed the cutoff", bound > rebuiltMakespan - 1);
+        assertTrue("Bound should not exceed the makespan", bound <= rebuiltMakespan);
+      }
+      assertEquals("Makespan should be exact", rebuiltMakespan, scheduleBuilder.rebuildTimestampsWithCutoff(state, rebuiltMakespan));
+      assertTrue("Starts should match full decoding", Arrays.equals(reference.getStarts(), state.getStarts()));
+    }
+  }
+
+  @Test
+  public void testBuildTimestampsFromActivityList() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule schedule = reader.readDefinition("assets/def_small/200_40_133_15.def");
+    assertNotNull("Schedule was not readDefinition correctly", schedule);
+    ProblemInstance instance = schedule.getInstance();
+    SolutionState state = new SolutionState(instance);
+    for (int t = 0; t < instance.getTaskCount(); ++t) {
+      int[] capable = instance.getCapableResources(t);
+      state.assign(t, capable[t % capable.length]);
+    }
+    Greedy scheduleBuilder = new Greedy();
+    BaseValidator validator = new CompleteValidator();
+
+    SolutionState reference = scheduleBuilder.buildTimestamps(new SolutionState(state));
+    scheduleBuilder.buildTimestamps(state, instance.getTopologicalOrder());
+    assertTrue("Topological order should give the same starts", Arrays.equals(reference.getStarts(), state.getStarts()));
+    assertFalse("Activity list decoding should not be rebuilt incrementally", state.isDecoded());
+
+    // reversed order of tasks without predecessors is still feasible
+    int[] activityList = instance.getTopologicalOrder().clone();
+    int roots = 0;
+    while (roots < activityList.length && instance.getPredecessors(activityList[roots]).length == 0) {
+      ++roots;
+    }
+    for (int i = 0; i < roots / 2; ++i) {
+      int task = activityList[i];
+      activityList[i] = activityList[roots - 1 - i];
+      activityList[roots - 1 - i] = task;
+    }
+    assertTrue("Activity list should be feasible", instance.isPrecedenceFeasible(activityList));
+    scheduleBuilder.buildTimestamps(state, activityList);
+    state.applyTo(schedule);
+    assertEquals("Schedule should be valid", ValidationResult.SUCCESS, validator.validate(schedule));
+  }
+
+}
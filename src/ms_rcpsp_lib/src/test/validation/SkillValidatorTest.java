@@ -38,4 +38,42 @@ public class SkillValidatorTest {
         ValidationResult.SUCCESS, validator.validate(schedule));
   }
 
+  @Test
+  public void testValidateWithBrokenPrecedences() {
+    MSRCPSPIO reader = new MSRCPSPIO();
+    Schedule unknownPredecessor = reader.readDefinition("assets/test/10_7_10_7.def");
+    Schedule cycle = reader.readDefinition("assets/test/10_7_10_7.def");
+    assertNotNull("Schedule was not readDefinition correctly", unknownPredecessor);
+    assertNotNull("Schedule was not readDefinition correctly", cycle);
+    // skill constraints do not depend on precedence relations, so they are checked anyway
+    unknownPredecessor.getTask(1).setPredecessors(new int[]{99});
+    cycle.getTask(1).setPredecessors(new int[]{2});
+    cycle.getTask(2).setPredecessors(new int[]{1});
+
+    BaseValidator validator = new SkillValidator();
+    for (Schedule schedule : new Schedule[]{unknownPredecessor, cycle}) {
+      assertEquals("Skill constraint should be violated", ValidationResult.FAILURE, validator.validate(schedule));
+      assertFalse("Capable resources should be listed", schedule.getCapableResources(schedule.getTask(1)).isEmpty());
+
+      schedule.assign(schedule.getTask(1), schedule.getResource(7), 1);
+      schedule.assign(schedule.getTask(5), schedule.getResource(1), 1);
+      schedule.assign(schedule.getTask(6), schedule.getResource(3), 1);
+      schedule.assign(schedule.getTask(2), schedule.getResource(4), 1);
+      schedule.assign(schedule.getTask(3), schedule.getResource(2), 1);
+      schedule.assign(schedule.getTask(9), schedule.getResource(2), 23);
+      schedule.assign(schedule.getTask(4), schedule.getResource(5), 41);
+      schedule.assign(schedule.getTask(7), schedule.getResource(7), 64);
+      schedule.assign(schedule.getTask(8), schedule.getResource(3), 82);
+      schedule.assign(schedule.getTask(10), schedule.getResource(6), 82);
+      assertEquals("Skill constraint should not be violated",
+          ValidationResult.SUCCESS, validator.validate(schedule));
+      try {
+        schedule.getInstance();
+        fail("Broken precedence relations should not be compiled");
+      } catch (IllegalArgumentException e) {
+        // expected, capability checks do not hide it
+      }
+    }
+  }
+
 }
\ No newline at end of file